@@ -0,0 +1,29 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class CacheMisses {
+
+    public static final String ATTRIBUTE = CacheMisses.class.getName();
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    public static Context into(Context context, CacheMisses cacheMisses) {
+        return context.put(CacheMisses.class, cacheMisses);
+    }
+
+    static void record(ContextView context) {
+        context.<CacheMisses>getOrEmpty(CacheMisses.class).ifPresent(CacheMisses::record);
+    }
+
+    public void record() {
+        count.incrementAndGet();
+    }
+
+    public int getCount() {
+        return count.get();
+    }
+}
@@ -0,0 +1,44 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchResponse;
+
+import java.util.List;
+import java.util.Map;
+
+public final class CacheNames {
+
+    public static final String MOVIE_DETAILS = "movieDetails";
+    public static final String MOVIE_SEARCH = "movieSearch";
+    public static final String POPULAR_MOVIES = "popularMovies";
+
+    public static final String MOVIE_DETAILS_NEGATIVE = "movieDetailsNegative";
+    public static final String MOVIE_SEARCH_NEGATIVE = "movieSearchNegative";
+
+    public static final List<String> ALL = List.of(
+            MOVIE_DETAILS, MOVIE_SEARCH, POPULAR_MOVIES,
+            MOVIE_DETAILS_NEGATIVE, MOVIE_SEARCH_NEGATIVE);
+
+    private static final Map<String, String> NEGATIVE_CACHES = Map.of(
+            MOVIE_DETAILS, MOVIE_DETAILS_NEGATIVE,
+            MOVIE_SEARCH, MOVIE_SEARCH_NEGATIVE);
+
+    private static final Map<String, Class<?>> VALUE_TYPES = Map.of(
+            MOVIE_DETAILS, MovieDetails.class,
+            MOVIE_SEARCH, MovieSearchResponse.class);
+
+    private CacheNames() {
+    }
+
+    public static String negativeCacheFor(String cacheName) {
+        return NEGATIVE_CACHES.get(cacheName);
+    }
+
+    public static Class<?> valueTypeFor(String cacheName) {
+        return VALUE_TYPES.get(cacheName);
+    }
+
+    public static Object keyFrom(String cacheName, String key) {
+        return MOVIE_SEARCH.equals(cacheName) ? SearchKey.parse(key) : key;
+    }
+}
@@ -0,0 +1,36 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+final class CacheSerializer {
+
+    private final ObjectMapper smileMapper = SmileMapper.builder()
+            .visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    byte[] serialize(Object value) {
+        try {
+            return smileMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T deserialize(String cacheName, byte[] bytes, int offset) {
+        try {
+            return (T) smileMapper.readValue(bytes, offset, bytes.length - offset, CacheNames.valueTypeFor(cacheName));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
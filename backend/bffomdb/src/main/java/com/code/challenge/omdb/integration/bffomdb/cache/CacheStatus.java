@@ -0,0 +1,45 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public final class CacheStatus {
+
+    public static final String HEADER = "X-Cache";
+
+    public enum Result {
+        HIT, MISS, STALE
+    }
+
+    private Result result;
+    private Duration age = Duration.ZERO;
+
+    public static Context into(Context context, CacheStatus cacheStatus) {
+        return context.put(CacheStatus.class, cacheStatus);
+    }
+
+    static void record(ContextView context, Result result, Duration age) {
+        context.<CacheStatus>getOrEmpty(CacheStatus.class)
+                .ifPresent(cacheStatus -> cacheStatus.record(result, age));
+    }
+
+    synchronized void record(Result result, Duration age) {
+        if (this.result == null || result.ordinal() > this.result.ordinal()) {
+            this.result = result;
+        }
+        if (age.compareTo(this.age) > 0) {
+            this.age = age;
+        }
+    }
+
+    public synchronized Optional<Result> getResult() {
+        return Optional.ofNullable(result);
+    }
+
+    public synchronized Duration getAge() {
+        return age;
+    }
+}
@@ -0,0 +1,22 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchResponse;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.util.Collection;
+
+public class CacheWeigher implements Weigher<Object, Object> {
+
+    @Override
+    public int weigh(Object key, Object value) {
+        Object payload = value instanceof CachedValue<?> cached ? cached.value() : value;
+
+        if (payload instanceof MovieSearchResponse response && response.getSearch() != null) {
+            return 1 + response.getSearch().size();
+        }
+        if (payload instanceof Collection<?> collection) {
+            return 1 + collection.size();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,18 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import java.time.Duration;
+
+public record CachedValue<T>(T value, long createdAt) {
+
+    public static <T> CachedValue<T> of(T value) {
+        return new CachedValue<>(value, System.currentTimeMillis());
+    }
+
+    public Duration age() {
+        return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - createdAt));
+    }
+
+    public boolean isOlderThan(Duration duration) {
+        return duration != null && age().compareTo(duration) > 0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CompositeSecondLevelCache implements SecondLevelCache {
+
+    private final List<SecondLevelCache> tiers;
+
+    public CompositeSecondLevelCache(List<SecondLevelCache> tiers) {
+        this.tiers = List.copyOf(tiers);
+    }
+
+    @Override
+    public <T> Mono<CachedValue<T>> get(String cacheName, Object key) {
+        return Flux.fromIterable(tiers)
+                .concatMap(tier -> tier.<T>get(cacheName, key))
+                .next();
+    }
+
+    @Override
+    public void put(String cacheName, Object key, CachedValue<?> entry) {
+        tiers.forEach(tier -> tier.put(cacheName, key, entry));
+    }
+
+    @Override
+    public <T> Mono<Map<Object, CachedValue<T>>> getAll(String cacheName, Collection<?> keys) {
+        Mono<Map<Object, CachedValue<T>>> found = Mono.just(new HashMap<>());
+        for (SecondLevelCache tier : tiers) {
+            found = found.flatMap(entries -> {
+                List<?> remaining = keys.stream().filter(key -> !entries.containsKey(key)).toList();
+                if (remaining.isEmpty()) {
+                    return Mono.just(entries);
+                }
+                return tier.<T>getAll(cacheName, remaining).map(more -> {
+                    entries.putAll(more);
+                    return entries;
+                });
+            });
+        }
+        return found;
+    }
+}
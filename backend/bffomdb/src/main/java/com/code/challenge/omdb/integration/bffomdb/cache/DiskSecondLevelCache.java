@@ -0,0 +1,126 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import com.code.challenge.omdb.integration.bffomdb.config.CacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class DiskSecondLevelCache implements SecondLevelCache, DisposableBean {
+
+    private final CacheProperties cacheProperties;
+    private final Map<String, DiskSegmentStore> stores = new HashMap<>();
+    private final Map<String, Counter> hits = new HashMap<>();
+    private final Map<String, Counter> misses = new HashMap<>();
+    private final CacheSerializer serializer = new CacheSerializer();
+    private final Scheduler compactionScheduler = Schedulers.newSingle("disk-cache-compaction", true);
+
+    public DiskSecondLevelCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) throws IOException {
+        this.cacheProperties = cacheProperties;
+        CacheProperties.Disk disk = cacheProperties.getDisk();
+
+        for (String cacheName : disk.getCaches()) {
+            if (CacheNames.valueTypeFor(cacheName) == null) {
+                throw new IllegalStateException("Cache '" + cacheName + "' cannot be persisted to disk");
+            }
+            DiskSegmentStore store = new DiskSegmentStore(Path.of(disk.getDirectory(), cacheName), disk.getSegmentSize().toBytes());
+            stores.put(cacheName, store);
+
+            Gauge.builder("cache.disk.entries", store, DiskSegmentStore::size)
+                    .description("Live entries in the on-disk second-level cache")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+            Gauge.builder("cache.disk.bytes", store, DiskSegmentStore::diskBytes)
+                    .description("Bytes used by on-disk second-level cache segments, including garbage awaiting compaction")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+            hits.put(cacheName, requestCounter(meterRegistry, cacheName, "hit"));
+            misses.put(cacheName, requestCounter(meterRegistry, cacheName, "miss"));
+        }
+
+        long interval = disk.getCompactionInterval().toMillis();
+        compactionScheduler.schedulePeriodically(this::compact, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Disk cache enabled for {} in {}", stores.keySet(), disk.getDirectory());
+    }
+
+    @Override
+    public <T> Mono<CachedValue<T>> get(String cacheName, Object key) {
+        DiskSegmentStore store = stores.get(cacheName);
+        if (store == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> this.<T>read(cacheName, store, key))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public void put(String cacheName, Object key, CachedValue<?> entry) {
+        DiskSegmentStore store = stores.get(cacheName);
+        if (store == null) {
+            return;
+        }
+        Mono.fromRunnable(() -> write(cacheName, store, key, entry))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, error -> log.warn("Failed to write '{}' entry for key '{}' to disk cache: {}",
+                        cacheName, key, error.getMessage()));
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        compactionScheduler.dispose();
+        for (DiskSegmentStore store : stores.values()) {
+            store.close();
+        }
+    }
+
+    private <T> CachedValue<T> read(String cacheName, DiskSegmentStore store, Object key) {
+        DiskSegmentStore.Entry entry = store.get(String.valueOf(key));
+        if (entry == null) {
+            misses.get(cacheName).increment();
+            return null;
+        }
+        hits.get(cacheName).increment();
+        return new CachedValue<>(serializer.<T>deserialize(cacheName, entry.value(), 0), entry.createdAt());
+    }
+
+    private void write(String cacheName, DiskSegmentStore store, Object key, CachedValue<?> entry) {
+        Duration expireAfterWrite = cacheProperties.getSpec(cacheName).getExpireAfterWrite();
+        try {
+            store.put(String.valueOf(key), serializer.serialize(entry.value()),
+                    entry.createdAt(), entry.createdAt() + expireAfterWrite.toMillis());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void compact() {
+        stores.forEach((cacheName, store) -> {
+            try {
+                store.compact(cacheProperties.getDisk().getCompactionThreshold());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Disk cache compaction failed for '{}': {}", cacheName, e.getMessage());
+            }
+        });
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String cacheName, String result) {
+        return Counter.builder("cache.disk.requests")
+                .description("Lookups against the on-disk second-level cache after an in-memory miss")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,342 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+@Slf4j
+final class DiskSegmentStore implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int ENTRY_HEADER_BYTES = Long.BYTES * 2 + Integer.BYTES;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private volatile Segment active;
+
+    record Entry(byte[] value, long createdAt, long expiresAt) {
+    }
+
+    private record Location(Segment segment, long offset, int length, long createdAt, long expiresAt) {
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    private record Record(String key, long createdAt, long expiresAt, byte[] value) {
+    }
+
+    DiskSegmentStore(Path directory, long segmentSize) throws IOException {
+        if (segmentSize <= RECORD_HEADER_BYTES || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between " + RECORD_HEADER_BYTES
+                    + " and " + Integer.MAX_VALUE + " bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    Entry get(String key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+        if (location.isExpired(System.currentTimeMillis())) {
+            evict(key, location);
+            return null;
+        }
+        try {
+            Record record = decode(location.segment().read(location.offset(), location.length()));
+            if (record == null || !record.key().equals(key)) {
+                log.warn("Discarding corrupt disk cache record for key '{}' in {}", key, location.segment().path);
+                evict(key, location);
+                return null;
+            }
+            return new Entry(record.value(), record.createdAt(), record.expiresAt());
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not read disk cache record for key '{}': {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    void put(String key, byte[] value, long createdAt, long expiresAt) throws IOException {
+        append(key, encode(key, value, createdAt, expiresAt), createdAt, expiresAt, null);
+    }
+
+    void compact(double threshold) throws IOException {
+        long now = System.currentTimeMillis();
+        index.forEach((key, location) -> {
+            if (location.isExpired(now)) {
+                evict(key, location);
+            }
+        });
+
+        for (Segment segment : segments.values()) {
+            if (segment != active && segment.liveBytes.get() <= segment.size.get() * threshold) {
+                rewrite(segment);
+            }
+        }
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    long diskBytes() {
+        return segments.values().stream().mapToLong(segment -> segment.size.get()).sum();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.channel.force(false);
+        for (Segment segment : segments.values()) {
+            segment.channel.close();
+        }
+    }
+
+    private synchronized void append(String key, ByteBuffer record, long createdAt, long expiresAt,
+                                     Location expected) throws IOException {
+        if (expected != null && index.get(key) != expected) {
+            return;
+        }
+        if (active.size.get() > 0 && active.size.get() + record.remaining() > segmentSize) {
+            active.seal();
+            active = openSegment(active.id + 1);
+        }
+
+        int length = record.remaining();
+        long offset = active.append(record);
+        active.liveBytes.addAndGet(length);
+
+        Location previous = index.put(key, new Location(active, offset, length, createdAt, expiresAt));
+        if (previous != null) {
+            previous.segment().liveBytes.addAndGet(-previous.length());
+        }
+    }
+
+    private void rewrite(Segment segment) throws IOException {
+        long reclaimed = segment.size.get() - segment.liveBytes.get();
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            Location location = entry.getValue();
+            if (location.segment() == segment) {
+                append(entry.getKey(), segment.read(location.offset(), location.length()),
+                        location.createdAt(), location.expiresAt(), location);
+            }
+        }
+
+        segments.remove(segment.id);
+        segment.channel.close();
+        Files.deleteIfExists(segment.path);
+        log.debug("Compacted disk cache segment {} ({} bytes reclaimed)", segment.path, reclaimed);
+    }
+
+    private void evict(String key, Location location) {
+        if (index.remove(key, location)) {
+            location.segment().liveBytes.addAndGet(-location.length());
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(directory)) {
+            files = paths.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted((a, b) -> Long.compare(segmentId(a), segmentId(b)))
+                    .toList();
+        }
+
+        long now = System.currentTimeMillis();
+        for (Path file : files) {
+            Segment segment = openSegment(segmentId(file));
+            scan(segment, now);
+            if (segment.size.get() >= segmentSize) {
+                segment.seal();
+            }
+            active = segment;
+        }
+
+        if (active == null || active.sealed()) {
+            active = openSegment(active == null ? 0 : active.id + 1);
+        }
+        for (Segment segment : segments.values()) {
+            if (segment != active && !segment.sealed()) {
+                segment.seal();
+            }
+        }
+
+        if (!index.isEmpty()) {
+            log.info("Recovered {} disk cache entries from {} ({} bytes)", index.size(), directory, diskBytes());
+        }
+    }
+
+    private void scan(Segment segment, long now) throws IOException {
+        long fileSize = segment.channel.size();
+        long position = 0;
+        while (position + RECORD_HEADER_BYTES <= fileSize) {
+            ByteBuffer header = segment.readFromChannel(position, Integer.BYTES);
+            int payloadLength = header.getInt();
+            if (payloadLength < ENTRY_HEADER_BYTES || position + RECORD_HEADER_BYTES + payloadLength > fileSize) {
+                break;
+            }
+
+            int length = RECORD_HEADER_BYTES + payloadLength;
+            Record record = decode(segment.readFromChannel(position, length));
+            if (record == null) {
+                break;
+            }
+
+            Location previous;
+            if (record.expiresAt() > now) {
+                segment.liveBytes.addAndGet(length);
+                previous = index.put(record.key(), new Location(segment, position, length, record.createdAt(), record.expiresAt()));
+            } else {
+                previous = index.remove(record.key());
+            }
+            if (previous != null) {
+                previous.segment().liveBytes.addAndGet(-previous.length());
+            }
+            position += length;
+        }
+
+        if (position < fileSize) {
+            log.warn("Truncating disk cache segment {} at {} of {} bytes (incomplete or corrupt tail)",
+                    segment.path, position, fileSize);
+            segment.channel.truncate(position);
+        }
+        segment.size.set(position);
+    }
+
+    private Segment openSegment(long id) throws IOException {
+        Path path = directory.resolve(String.format("%016d%s", id, SEGMENT_SUFFIX));
+        Segment segment = new Segment(id, path, FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        segment.size.set(segment.channel.size());
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private static long segmentId(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static ByteBuffer encode(String key, byte[] value, long createdAt, long expiresAt) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int payloadLength = ENTRY_HEADER_BYTES + keyBytes.length + value.length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES + payloadLength);
+        buffer.putInt(payloadLength)
+                .putInt(0)
+                .putLong(createdAt)
+                .putLong(expiresAt)
+                .putInt(keyBytes.length)
+                .put(keyBytes)
+                .put(value);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), RECORD_HEADER_BYTES, payloadLength);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.flip();
+    }
+
+    private static Record decode(ByteBuffer buffer) {
+        int payloadLength = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (payloadLength != buffer.remaining()) {
+            return null;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        long createdAt = buffer.getLong();
+        long expiresAt = buffer.getLong();
+        int keyLength = buffer.getInt();
+        if (keyLength < 0 || keyLength > buffer.remaining()) {
+            return null;
+        }
+        byte[] key = new byte[keyLength];
+        buffer.get(key);
+        byte[] value = new byte[buffer.remaining()];
+        buffer.get(value);
+        return new Record(new String(key, StandardCharsets.UTF_8), createdAt, expiresAt, value);
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicLong size = new AtomicLong();
+        private final AtomicLong liveBytes = new AtomicLong();
+
+        private volatile MappedByteBuffer mapped;
+
+        private Segment(long id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        private boolean sealed() {
+            return mapped != null;
+        }
+
+        private void seal() throws IOException {
+            channel.force(false);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size.get());
+        }
+
+        private long append(ByteBuffer record) throws IOException {
+            long offset = size.get();
+            long position = offset;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            size.set(position);
+            return offset;
+        }
+
+        private ByteBuffer read(long offset, int length) throws IOException {
+            MappedByteBuffer buffer = mapped;
+            if (buffer != null) {
+                return buffer.slice((int) offset, length);
+            }
+            return readFromChannel(offset, length);
+        }
+
+        private ByteBuffer readFromChannel(long offset, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of segment " + path);
+                }
+            }
+            return buffer.flip();
+        }
+    }
+}
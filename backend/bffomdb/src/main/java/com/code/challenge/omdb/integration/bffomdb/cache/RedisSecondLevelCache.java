@@ -0,0 +1,248 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import com.code.challenge.omdb.integration.bffomdb.config.CacheProperties;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class RedisSecondLevelCache implements SecondLevelCache, DisposableBean {
+
+    private static final RedisCodec<String, byte[]> CODEC = RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+
+    private final CacheProperties cacheProperties;
+    private final CacheProperties.Redis redis;
+    private final CacheManager cacheManager;
+    private final CacheSerializer serializer = new CacheSerializer();
+    private final String replicaId = UUID.randomUUID().toString();
+    private final RedisClient redisClient;
+    private final Set<String> caches;
+    private final Map<String, Counter> requests = new HashMap<>();
+    private final AtomicBoolean connecting = new AtomicBoolean();
+
+    private volatile StatefulRedisConnection<String, byte[]> connection;
+    private volatile StatefulRedisPubSubConnection<String, String> invalidations;
+    private volatile long unavailableUntil;
+
+    public RedisSecondLevelCache(CacheProperties cacheProperties, CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheProperties = cacheProperties;
+        this.redis = cacheProperties.getRedis();
+        this.cacheManager = cacheManager;
+        this.caches = Set.copyOf(redis.getCaches());
+
+        for (String cacheName : caches) {
+            if (CacheNames.valueTypeFor(cacheName) == null) {
+                throw new IllegalStateException("Cache '" + cacheName + "' cannot be stored in Redis");
+            }
+            for (String result : new String[]{"hit", "miss", "error"}) {
+                requests.put(cacheName + '.' + result, Counter.builder("cache.remote.requests")
+                        .description("Lookups against the shared Redis cache tier after an in-memory miss")
+                        .tag("cache", cacheName)
+                        .tag("result", result)
+                        .register(meterRegistry));
+            }
+        }
+        Gauge.builder("cache.remote.available", this, cache -> cache.isAvailable() ? 1 : 0)
+                .description("Whether the shared Redis cache tier is currently in use (0 = local-only)")
+                .register(meterRegistry);
+
+        redisClient = RedisClient.create(RedisURI.create(redis.getUri()));
+        redisClient.setOptions(ClientOptions.builder()
+                .autoReconnect(true)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .timeoutOptions(TimeoutOptions.enabled(redis.getTimeout()))
+                .build());
+        connectInBackground();
+    }
+
+    @Override
+    public <T> Mono<CachedValue<T>> get(String cacheName, Object key) {
+        RedisReactiveCommands<String, byte[]> commands = commands(cacheName);
+        if (commands == null) {
+            return Mono.empty();
+        }
+        return commands.get(redisKey(cacheName, key))
+                .timeout(redis.getTimeout())
+                .map(bytes -> this.<T>decode(cacheName, bytes))
+                .doOnSuccess(entry -> count(cacheName, entry != null ? "hit" : "miss"))
+                .onErrorResume(error -> {
+                    recordFailure(cacheName, error);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public <T> Mono<Map<Object, CachedValue<T>>> getAll(String cacheName, Collection<?> keys) {
+        RedisReactiveCommands<String, byte[]> commands = commands(cacheName);
+        if (commands == null || keys.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        Map<String, Object> keysByRedisKey = new LinkedHashMap<>();
+        keys.forEach(key -> keysByRedisKey.put(redisKey(cacheName, key), key));
+
+        return commands.mget(keysByRedisKey.keySet().toArray(String[]::new))
+                .doOnNext(keyValue -> count(cacheName, keyValue.hasValue() ? "hit" : "miss"))
+                .filter(KeyValue::hasValue)
+                .collectMap(keyValue -> keysByRedisKey.get(keyValue.getKey()),
+                        keyValue -> this.<T>decode(cacheName, keyValue.getValue()))
+                .timeout(redis.getTimeout())
+                .onErrorResume(error -> {
+                    recordFailure(cacheName, error);
+                    return Mono.just(Map.of());
+                });
+    }
+
+    @Override
+    public void put(String cacheName, Object key, CachedValue<?> entry) {
+        RedisReactiveCommands<String, byte[]> commands = commands(cacheName);
+        if (commands == null) {
+            return;
+        }
+        long timeToLive = entry.createdAt() + cacheProperties.getSpec(cacheName).getExpireAfterWrite().toMillis()
+                - System.currentTimeMillis();
+        if (timeToLive <= 0) {
+            return;
+        }
+
+        byte[] message = String.join("\n", replicaId, cacheName, String.valueOf(key)).getBytes(StandardCharsets.UTF_8);
+        commands.set(redisKey(cacheName, key), encode(entry), SetArgs.Builder.px(timeToLive))
+                .then(commands.publish(redis.getInvalidationChannel(), message))
+                .timeout(redis.getTimeout())
+                .subscribe(null, error -> recordFailure(cacheName, error));
+    }
+
+    @Override
+    public void destroy() {
+        if (invalidations != null) {
+            invalidations.close();
+        }
+        if (connection != null) {
+            connection.close();
+        }
+        redisClient.shutdown(Duration.ZERO, redis.getTimeout());
+    }
+
+    boolean isAvailable() {
+        return connection != null && System.currentTimeMillis() >= unavailableUntil;
+    }
+
+    private RedisReactiveCommands<String, byte[]> commands(String cacheName) {
+        if (!caches.contains(cacheName) || System.currentTimeMillis() < unavailableUntil) {
+            return null;
+        }
+        StatefulRedisConnection<String, byte[]> current = connection;
+        if (current == null) {
+            connectInBackground();
+            return null;
+        }
+        return current.reactive();
+    }
+
+    private void connectInBackground() {
+        if (connecting.compareAndSet(false, true)) {
+            Mono.fromRunnable(this::connect)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doFinally(signal -> connecting.set(false))
+                    .subscribe(null, error -> markUnavailable(error));
+        }
+    }
+
+    private void connect() {
+        StatefulRedisConnection<String, byte[]> commands = redisClient.connect(CODEC);
+        try {
+            StatefulRedisPubSubConnection<String, String> pubSub = redisClient.connectPubSub();
+            pubSub.addListener(new RedisPubSubAdapter<>() {
+                @Override
+                public void message(String channel, String message) {
+                    invalidate(message);
+                }
+            });
+            pubSub.sync().subscribe(redis.getInvalidationChannel());
+            invalidations = pubSub;
+        } catch (RuntimeException e) {
+            commands.close();
+            throw e;
+        }
+        connection = commands;
+        unavailableUntil = 0;
+        log.info("Connected to shared Redis cache tier at {} for {}", redis.getUri(), caches);
+    }
+
+    private void invalidate(String message) {
+        String[] parts = message.split("\n", 3);
+        if (parts.length != 3 || parts[0].equals(replicaId)) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(parts[1]);
+        if (cache != null) {
+            log.debug("Evicting '{}' entry for key '{}' written by another replica", parts[1], parts[2]);
+            cache.evict(CacheNames.keyFrom(parts[1], parts[2]));
+        }
+    }
+
+    private void recordFailure(String cacheName, Throwable error) {
+        count(cacheName, "error");
+        markUnavailable(error);
+    }
+
+    private void markUnavailable(Throwable error) {
+        long now = System.currentTimeMillis();
+        if (now >= unavailableUntil) {
+            log.warn("Shared Redis cache tier unavailable, serving from local tiers for {}: {}",
+                    redis.getRetryInterval(), error.getMessage());
+        }
+        unavailableUntil = now + redis.getRetryInterval().toMillis();
+    }
+
+    private void count(String cacheName, String result) {
+        requests.get(cacheName + '.' + result).increment();
+    }
+
+    private String redisKey(String cacheName, Object key) {
+        return redis.getKeyPrefix() + cacheName + ':' + key;
+    }
+
+    private byte[] encode(CachedValue<?> entry) {
+        byte[] value = serializer.serialize(entry.value());
+        return ByteBuffer.allocate(Long.BYTES + value.length)
+                .putLong(entry.createdAt())
+                .put(value)
+                .array();
+    }
+
+    private <T> CachedValue<T> decode(String cacheName, byte[] bytes) {
+        long createdAt = ByteBuffer.wrap(bytes).getLong();
+        return new CachedValue<>(serializer.deserialize(cacheName, bytes, Long.BYTES), createdAt);
+    }
+}
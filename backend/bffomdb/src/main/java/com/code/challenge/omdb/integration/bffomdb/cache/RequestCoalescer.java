@@ -0,0 +1,101 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class RequestCoalescer {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<InFlightKey, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CoalescingMetrics> metrics = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("cache.coalescing.in.flight", inFlight, Map::size)
+                .description("Upstream calls currently shared by concurrent cache misses")
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> coalesce(String cacheName, Object key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            InFlightKey inFlightKey = new InFlightKey(cacheName, key);
+            AtomicBoolean leader = new AtomicBoolean();
+
+            Mono<?> shared = inFlight.computeIfAbsent(inFlightKey, k -> {
+                leader.set(true);
+                return share(k, call);
+            });
+
+            metricsFor(cacheName).record(leader.get());
+            if (!leader.get()) {
+                log.debug("Joining in-flight '{}' call for key '{}'", cacheName, key);
+            }
+
+            return this.<T>cast(shared);
+        });
+    }
+
+    public boolean isInFlight(String cacheName, Object key) {
+        return inFlight.containsKey(new InFlightKey(cacheName, key));
+    }
+
+    private <T> Mono<T> share(InFlightKey key, Supplier<Mono<T>> call) {
+        return Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(key))
+                .share();
+    }
+
+    private CoalescingMetrics metricsFor(String cacheName) {
+        return metrics.computeIfAbsent(cacheName, name -> new CoalescingMetrics(name, meterRegistry));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> cast(Mono<?> mono) {
+        return (Mono<T>) mono;
+    }
+
+    private record InFlightKey(String cacheName, Object key) {
+    }
+
+    private static final class CoalescingMetrics {
+
+        private final Counter leaders;
+        private final Counter followers;
+
+        private CoalescingMetrics(String cacheName, MeterRegistry meterRegistry) {
+            this.leaders = Counter.builder("cache.coalescing.requests")
+                    .tag("cache", cacheName)
+                    .tag("role", "leader")
+                    .register(meterRegistry);
+            this.followers = Counter.builder("cache.coalescing.requests")
+                    .tag("cache", cacheName)
+                    .tag("role", "follower")
+                    .register(meterRegistry);
+            Gauge.builder("cache.coalescing.ratio", this, CoalescingMetrics::ratio)
+                    .description("Share of cache misses served by an already in-flight upstream call")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+        }
+
+        private void record(boolean leader) {
+            (leader ? leaders : followers).increment();
+        }
+
+        private double ratio() {
+            double total = leaders.count() + followers.count();
+            return total == 0 ? 0 : followers.count() / total;
+        }
+    }
+}
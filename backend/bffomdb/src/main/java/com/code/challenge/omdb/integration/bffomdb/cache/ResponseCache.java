@@ -0,0 +1,165 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import com.code.challenge.omdb.integration.bffomdb.config.CacheProperties;
+import com.code.challenge.omdb.integration.bffomdb.resilience.QuotaPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCache {
+
+    private final CacheManager cacheManager;
+    private final CacheProperties cacheProperties;
+    private final RequestCoalescer requestCoalescer;
+    private final SecondLevelCache secondLevelCache;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> staleCounters = new ConcurrentHashMap<>();
+
+    public <T> Mono<T> get(String cacheName, Object key, Supplier<Mono<T>> loader) {
+        return get(cacheName, key, value -> true, loader);
+    }
+
+    public <T> Mono<T> get(String cacheName, Object key, Predicate<? super T> positive, Supplier<Mono<T>> loader) {
+        Tiers tiers = new Tiers(getCache(cacheName), getNegativeCache(cacheName));
+
+        return Mono.deferContextual(context -> this.<T>lookup(tiers.positive(), key)
+                .switchIfEmpty(this.<T>lookupSecondLevel(tiers.positive(), key))
+                .map(entry -> {
+                    boolean stale = refreshIfNeeded(tiers, key, entry, positive, loader);
+                    CacheStatus.record(context, stale ? CacheStatus.Result.STALE : CacheStatus.Result.HIT, entry.age());
+                    return entry.value();
+                })
+                .switchIfEmpty(this.<T>lookup(tiers.negative(), key)
+                        .map(entry -> {
+                            CacheStatus.record(context, CacheStatus.Result.HIT, entry.age());
+                            return entry.value();
+                        }))
+                .switchIfEmpty(Mono.defer(() -> {
+                    CacheStatus.record(context, CacheStatus.Result.MISS, Duration.ZERO);
+                    CacheMisses.record(context);
+                    return load(tiers, key, positive, loader);
+                })));
+    }
+
+    public Mono<Void> prefetch(String cacheName, Collection<?> keys) {
+        Cache cache = getCache(cacheName);
+        return Mono.defer(() -> {
+                    List<?> missing = keys.stream().filter(key -> cache.get(key) == null).toList();
+                    return missing.isEmpty() ? Mono.empty() : secondLevelCache.getAll(cacheName, missing);
+                })
+                .doOnNext(entries -> entries.forEach(cache::put))
+                .onErrorResume(error -> {
+                    log.warn("Second-level prefetch failed for '{}': {}", cacheName, error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private <T> Mono<CachedValue<T>> lookup(Cache cache, Object key) {
+        return Mono.defer(() -> {
+            CompletableFuture<?> future = cache != null ? cache.retrieve(key) : null;
+            if (future == null) {
+                return Mono.empty();
+            }
+            return Mono.fromFuture(future).map(this::<T>asCachedValue);
+        });
+    }
+
+    private <T> Mono<CachedValue<T>> lookupSecondLevel(Cache cache, Object key) {
+        return Mono.defer(() -> secondLevelCache.<T>get(cache.getName(), key))
+                .doOnNext(entry -> cache.put(key, entry))
+                .onErrorResume(error -> {
+                    log.warn("Second-level lookup failed for '{}' key '{}': {}", cache.getName(), key, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private <T> Mono<T> load(Tiers tiers, Object key, Predicate<? super T> positive, Supplier<Mono<T>> loader) {
+        return requestCoalescer.coalesce(tiers.positive().getName(), key, () -> loader.get()
+                .doOnNext(value -> store(tiers, key, CachedValue.of(value), positive.test(value))));
+    }
+
+    private void store(Tiers tiers, Object key, CachedValue<?> entry, boolean positive) {
+        Cache cache = tiers.forResult(positive);
+        cache.put(key, entry);
+        if (cache == tiers.positive()) {
+            secondLevelCache.put(cache.getName(), key, entry);
+        }
+    }
+
+    private <T> boolean refreshIfNeeded(Tiers tiers, Object key, CachedValue<T> entry,
+                                        Predicate<? super T> positive, Supplier<Mono<T>> loader) {
+        Cache cache = tiers.positive();
+        Duration refreshAfterWrite = cacheProperties.getSpec(cache.getName()).getRefreshAfterWrite();
+        if (!entry.isOlderThan(refreshAfterWrite)) {
+            return false;
+        }
+
+        staleCounter(cache.getName()).increment();
+        if (requestCoalescer.isInFlight(cache.getName(), key)) {
+            return true;
+        }
+
+        log.debug("Serving stale '{}' entry for key '{}' (age {}) while revalidating", cache.getName(), key, entry.age());
+        load(tiers, key, positive, loader)
+                .contextWrite(context -> QuotaPriority.into(context, QuotaPriority.PREFETCH))
+                .subscribe(
+                        value -> log.debug("Refreshed '{}' entry for key '{}'", cache.getName(), key),
+                        error -> log.warn("Failed to refresh '{}' entry for key '{}', keeping stale value: {}",
+                                cache.getName(), key, error.getMessage()));
+        return true;
+    }
+
+    private Counter staleCounter(String cacheName) {
+        return staleCounters.computeIfAbsent(cacheName, name -> Counter.builder("cache.stale.served")
+                .description("Entries served past their refresh-after-write (soft) TTL while being revalidated")
+                .tag("cache", name)
+                .register(meterRegistry));
+    }
+
+    private Cache getCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + cacheName);
+        }
+        return cache;
+    }
+
+    private Cache getNegativeCache(String cacheName) {
+        String negativeCacheName = CacheNames.negativeCacheFor(cacheName);
+        return negativeCacheName != null ? getCache(negativeCacheName) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CachedValue<T> asCachedValue(Object value) {
+        if (value instanceof Cache.ValueWrapper wrapper) {
+            return (CachedValue<T>) wrapper.get();
+        }
+        return (CachedValue<T>) value;
+    }
+
+    private record Tiers(Cache positive, Cache negative) {
+
+        private Cache forResult(boolean success) {
+            return success || negative == null ? positive : negative;
+        }
+    }
+}
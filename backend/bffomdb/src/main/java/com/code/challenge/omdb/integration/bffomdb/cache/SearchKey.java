@@ -0,0 +1,116 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchRequest;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+public final class SearchKey {
+
+    public static final String DEFAULT_TYPE = "movie";
+
+    private static final char SEPARATOR = '|';
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final String query;
+    private final int page;
+    private final String type;
+    private final Integer year;
+    private final int hash;
+
+    private SearchKey(String query, int page, String type, Integer year) {
+        this.query = query;
+        this.page = page;
+        this.type = type;
+        this.year = year;
+        this.hash = Objects.hash(query, page, type, year);
+    }
+
+    public static SearchKey of(MovieSearchRequest request) {
+        return of(request.getQuery(), request.getPage(), request.getType(), request.getYear());
+    }
+
+    public static SearchKey of(String query, Integer page, String type, Integer year) {
+        return new SearchKey(
+                normalizeQuery(query),
+                page != null && page > 0 ? page : 1,
+                type != null && !type.isBlank() ? type.trim().toLowerCase(Locale.ROOT) : DEFAULT_TYPE,
+                year);
+    }
+
+    public static SearchKey parse(String value) {
+        int yearStart = value.lastIndexOf(SEPARATOR);
+        int typeStart = value.lastIndexOf(SEPARATOR, yearStart - 1);
+        int pageStart = value.lastIndexOf(SEPARATOR, typeStart - 1);
+        if (pageStart < 0) {
+            throw new IllegalArgumentException("Not a search key: " + value);
+        }
+        String year = value.substring(yearStart + 1);
+        return of(value.substring(0, pageStart),
+                Integer.valueOf(value.substring(pageStart + 1, typeStart)),
+                value.substring(typeStart + 1, yearStart),
+                year.isEmpty() ? null : Integer.valueOf(year));
+    }
+
+    public String query() {
+        return query;
+    }
+
+    public int page() {
+        return page;
+    }
+
+    public String type() {
+        return type;
+    }
+
+    public Integer year() {
+        return year;
+    }
+
+    public MovieSearchRequest toRequest() {
+        MovieSearchRequest request = new MovieSearchRequest();
+        request.setQuery(query);
+        request.setPage(page);
+        request.setType(type);
+        request.setYear(year);
+        return request;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SearchKey that)) {
+            return false;
+        }
+        return hash == that.hash
+                && page == that.page
+                && query.equals(that.query)
+                && type.equals(that.type)
+                && Objects.equals(year, that.year);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return query + SEPARATOR + page + SEPARATOR + type + SEPARATOR + (year != null ? year : "");
+    }
+
+    private static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = Normalizer.isNormalized(query, Normalizer.Form.NFC)
+                ? query
+                : Normalizer.normalize(query, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(normalized.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,32 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface SecondLevelCache {
+
+    SecondLevelCache NONE = new SecondLevelCache() {
+
+        @Override
+        public <T> Mono<CachedValue<T>> get(String cacheName, Object key) {
+            return Mono.empty();
+        }
+
+        @Override
+        public void put(String cacheName, Object key, CachedValue<?> entry) {
+        }
+    };
+
+    <T> Mono<CachedValue<T>> get(String cacheName, Object key);
+
+    void put(String cacheName, Object key, CachedValue<?> entry);
+
+    default <T> Mono<Map<Object, CachedValue<T>>> getAll(String cacheName, Collection<?> keys) {
+        return Flux.fromIterable(keys)
+                .flatMap(key -> this.<T>get(cacheName, key).map(entry -> Map.entry((Object) key, entry)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
@@ -0,0 +1,228 @@
+package com.code.challenge.omdb.integration.bffomdb.client;
+
+import com.code.challenge.omdb.integration.bffomdb.config.ApiKeyPoolProperties;
+import com.code.challenge.omdb.integration.bffomdb.exception.OmdbUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class ApiKeyPool {
+
+    enum Outcome {
+        SUCCESS, FAILED, QUOTA, AUTH
+    }
+
+    private static final class Key {
+
+        private final String name;
+        private final String value;
+        private final int weight;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Map<Outcome, Counter> calls = new EnumMap<>(Outcome.class);
+        private long currentWeight;
+        private volatile long ejectedUntil;
+
+        private Key(String name, String value, int weight) {
+            this.name = name;
+            this.value = value;
+            this.weight = Math.max(1, weight);
+        }
+
+        private boolean isAvailable(long now) {
+            return now >= ejectedUntil;
+        }
+
+        private double used() {
+            return calls.values().stream().mapToDouble(Counter::count).sum();
+        }
+    }
+
+    private static final class KeyRejectedException extends RuntimeException {
+
+        private KeyRejectedException(String message, Throwable cause) {
+            super(message, cause, false, false);
+        }
+    }
+
+    private final ApiKeyPoolProperties properties;
+    private final List<Key> keys = new ArrayList<>();
+
+    public ApiKeyPool(ApiKeyPoolProperties properties, @Value("${omdb.api.key}") String apiKey,
+                      MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        List<ApiKeyPoolProperties.Key> configured = properties.getKeys();
+        if (configured.isEmpty()) {
+            keys.add(new Key("default", apiKey, 1));
+        }
+        for (int i = 0; i < configured.size(); i++) {
+            ApiKeyPoolProperties.Key key = configured.get(i);
+            if (key.getValue() == null || key.getValue().isBlank()) {
+                throw new IllegalStateException("OMDB API key #" + (i + 1) + " has no value");
+            }
+            keys.add(new Key(key.getName() != null ? key.getName() : "key-" + (i + 1), key.getValue(), key.getWeight()));
+        }
+
+        for (Key key : keys) {
+            for (Outcome outcome : Outcome.values()) {
+                key.calls.put(outcome, Counter.builder("omdb.api.key.calls")
+                        .description("OMDB calls made with each API key")
+                        .tag("key", key.name)
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+            Gauge.builder("omdb.api.key.in.flight", key.inFlight, AtomicInteger::get)
+                    .description("Outstanding OMDB calls per API key")
+                    .tag("key", key.name)
+                    .register(meterRegistry);
+            Gauge.builder("omdb.api.key.available", key, k -> k.isAvailable(System.currentTimeMillis()) ? 1 : 0)
+                    .description("Whether an API key is in rotation (0 = ejected after a quota or auth error)")
+                    .tag("key", key.name)
+                    .register(meterRegistry);
+        }
+        log.info("OMDB API key pool: {} key(s), {} selection", keys.size(), properties.getSelection());
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public <T> Mono<T> execute(Function<String, Mono<T>> call, Function<? super T, String> error) {
+        return attempt(call, error, keys.size());
+    }
+
+    private <T> Mono<T> attempt(Function<String, Mono<T>> call, Function<? super T, String> error, int attempts) {
+        return Mono.defer(() -> {
+            Key key = select();
+            if (key == null) {
+                return Mono.error(new OmdbUnavailableException("All OMDB API keys are ejected"));
+            }
+            key.inFlight.incrementAndGet();
+            return call.apply(key.value)
+                    .flatMap(value -> {
+                        String message = error.apply(value);
+                        Outcome outcome = classify(message);
+                        if (outcome == Outcome.SUCCESS) {
+                            record(key, outcome);
+                            return Mono.just(value);
+                        }
+                        return Mono.error(reject(key, outcome, message, null));
+                    })
+                    .onErrorMap(ex -> !(ex instanceof KeyRejectedException), ex -> {
+                        Outcome outcome = classify(ex);
+                        return outcome == Outcome.FAILED ? ex : reject(key, outcome, ex.getMessage(), ex);
+                    })
+                    .doOnError(ex -> {
+                        if (!(ex instanceof KeyRejectedException)) {
+                            record(key, Outcome.FAILED);
+                        }
+                    })
+                    .doFinally(signal -> key.inFlight.decrementAndGet());
+        }).onErrorResume(KeyRejectedException.class, ex -> attempts > 1
+                ? attempt(call, error, attempts - 1)
+                : Mono.error(new OmdbUnavailableException(ex.getMessage(), ex.getCause())));
+    }
+
+    private Key select() {
+        long now = System.currentTimeMillis();
+        return properties.getSelection() == ApiKeyPoolProperties.Selection.LEAST_USED
+                ? leastUsed(now)
+                : weightedRoundRobin(now);
+    }
+
+    private synchronized Key weightedRoundRobin(long now) {
+        Key best = null;
+        long total = 0;
+        for (Key key : keys) {
+            if (!key.isAvailable(now)) {
+                continue;
+            }
+            key.currentWeight += key.weight;
+            total += key.weight;
+            if (best == null || key.currentWeight > best.currentWeight) {
+                best = key;
+            }
+        }
+        if (best != null) {
+            best.currentWeight -= total;
+        }
+        return best;
+    }
+
+    private Key leastUsed(long now) {
+        Key best = null;
+        double bestLoad = Double.MAX_VALUE;
+        double bestUsed = Double.MAX_VALUE;
+        for (Key key : keys) {
+            if (!key.isAvailable(now)) {
+                continue;
+            }
+            double load = (double) key.inFlight.get() / key.weight;
+            double used = key.used() / key.weight;
+            if (load < bestLoad || (load == bestLoad && used < bestUsed)) {
+                best = key;
+                bestLoad = load;
+                bestUsed = used;
+            }
+        }
+        return best;
+    }
+
+    private KeyRejectedException reject(Key key, Outcome outcome, String reason, Throwable cause) {
+        record(key, outcome);
+        Duration ejection = outcome == Outcome.QUOTA ? properties.getQuotaEjection() : properties.getAuthEjection();
+        key.ejectedUntil = System.currentTimeMillis() + ejection.toMillis();
+        log.warn("Ejecting OMDB API key '{}' for {} after a {} error: {}", key.name, ejection,
+                outcome.name().toLowerCase(), reason);
+        return new KeyRejectedException("OMDB API key '" + key.name + "' rejected: " + reason, cause);
+    }
+
+    private static void record(Key key, Outcome outcome) {
+        key.calls.get(outcome).increment();
+    }
+
+    static Outcome classify(String error) {
+        if (error == null) {
+            return Outcome.SUCCESS;
+        }
+        String message = error.toLowerCase(Locale.ROOT);
+        if (message.contains("limit reached")) {
+            return Outcome.QUOTA;
+        }
+        if (message.contains("api key")) {
+            return Outcome.AUTH;
+        }
+        return Outcome.SUCCESS;
+    }
+
+    static Outcome classify(Throwable error) {
+        if (!(error instanceof WebClientResponseException response)) {
+            return Outcome.FAILED;
+        }
+        if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return Outcome.QUOTA;
+        }
+        if (response.getStatusCode().value() != HttpStatus.UNAUTHORIZED.value()
+                && response.getStatusCode().value() != HttpStatus.FORBIDDEN.value()) {
+            return Outcome.FAILED;
+        }
+        return classify(response.getResponseBodyAsString()) == Outcome.QUOTA ? Outcome.QUOTA : Outcome.AUTH;
+    }
+}
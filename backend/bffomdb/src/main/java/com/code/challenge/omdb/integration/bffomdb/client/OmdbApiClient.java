@@ -3,6 +3,8 @@ package com.code.challenge.omdb.integration.bffomdb.client;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchResponse;
 import com.code.challenge.omdb.integration.bffomdb.exception.OmdbApiException;
+import com.code.challenge.omdb.integration.bffomdb.resilience.OmdbEndpoint;
+import com.code.challenge.omdb.integration.bffomdb.resilience.OmdbResilience;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,19 +20,18 @@ import java.time.Duration;
 public class OmdbApiClient {
     
     private final WebClient omdbWebClient;
-    
-    @Value("${omdb.api.key}")
-    private String apiKey;
+    private final OmdbResilience omdbResilience;
+    private final ApiKeyPool apiKeyPool;
     
     @Value("${omdb.api.timeout}")
     private Duration apiTimeout;
 
     public Mono<MovieSearchResponse> searchMovies(String title, Integer page, String type, Integer year) {
-        return omdbWebClient
+        return apiKeyPool.execute(key -> omdbWebClient
                 .get()
                 .uri(uriBuilder -> {
                     uriBuilder
-                            .queryParam("apikey", apiKey)
+                            .queryParam("apikey", key)
                             .queryParam("s", title)
                             .queryParam("page", page != null ? page : 1);
                     
@@ -46,13 +47,14 @@ public class OmdbApiClient {
                 })
                 .retrieve()
                 .bodyToMono(MovieSearchResponse.class)
-                .timeout(apiTimeout)
+                .timeout(apiTimeout), MovieSearchResponse::getError)
+                .transform(call -> omdbResilience.protect(OmdbEndpoint.SEARCH, call))
                 .doOnSuccess(response -> {
                     if (response != null && !response.isSuccess()) {
                         log.warn("OMDB API returned error: {}", response.getError());
                     }
                 })
-                .onErrorMap(Exception.class, ex -> {
+                .onErrorMap(ex -> ex instanceof Exception && !(ex instanceof OmdbApiException), ex -> {
                     log.error("Error calling OMDB search API: {}", ex.getMessage(), ex);
                     return new OmdbApiException("Failed to search movies: " + ex.getMessage(), ex);
                 });
@@ -63,22 +65,23 @@ public class OmdbApiClient {
             return Mono.error(new IllegalArgumentException("IMDB ID cannot be null or empty"));
         }
         
-        return omdbWebClient
+        return apiKeyPool.execute(key -> omdbWebClient
                 .get()
                 .uri(uriBuilder -> uriBuilder
-                        .queryParam("apikey", apiKey)
+                        .queryParam("apikey", key)
                         .queryParam("i", imdbId)
                         .queryParam("plot", "full")
                         .build())
                 .retrieve()
                 .bodyToMono(MovieDetails.class)
-                .timeout(apiTimeout)
+                .timeout(apiTimeout), MovieDetails::getError)
+                .transform(call -> omdbResilience.protect(OmdbEndpoint.DETAILS, call))
                 .doOnSuccess(response -> {
                     if (response != null && !response.isSuccess()) {
                         log.warn("OMDB API returned error for IMDB ID {}: {}", imdbId, response.getError());
                     }
                 })
-                .onErrorMap(Exception.class, ex -> {
+                .onErrorMap(ex -> ex instanceof Exception && !(ex instanceof OmdbApiException), ex -> {
                     log.error("Error getting movie details for IMDB ID {}: {}", imdbId, ex.getMessage(), ex);
                     return new OmdbApiException("Failed to get movie details: " + ex.getMessage(), ex);
                 });
@@ -89,11 +92,11 @@ public class OmdbApiClient {
             return Mono.error(new IllegalArgumentException("Title cannot be null or empty"));
         }
         
-        return omdbWebClient
+        return apiKeyPool.execute(key -> omdbWebClient
                 .get()
                 .uri(uriBuilder -> {
                     uriBuilder
-                            .queryParam("apikey", apiKey)
+                            .queryParam("apikey", key)
                             .queryParam("t", title)
                             .queryParam("plot", "full");
                     
@@ -105,13 +108,14 @@ public class OmdbApiClient {
                 })
                 .retrieve()
                 .bodyToMono(MovieDetails.class)
-                .timeout(apiTimeout)
+                .timeout(apiTimeout), MovieDetails::getError)
+                .transform(call -> omdbResilience.protect(OmdbEndpoint.TITLE, call))
                 .doOnSuccess(response -> {
                     if (response != null && !response.isSuccess()) {
                         log.warn("OMDB API returned error for title '{}': {}", title, response.getError());
                     }
                 })
-                .onErrorMap(Exception.class, ex -> {
+                .onErrorMap(ex -> ex instanceof Exception && !(ex instanceof OmdbApiException), ex -> {
                     log.error("Error getting movie by title '{}': {}", title, ex.getMessage(), ex);
                     return new OmdbApiException("Failed to get movie by title: " + ex.getMessage(), ex);
                 });
@@ -0,0 +1,35 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "omdb.api.key-pool")
+public class ApiKeyPoolProperties {
+
+    public enum Selection {
+        WEIGHTED_ROUND_ROBIN, LEAST_USED
+    }
+
+    private Selection selection = Selection.WEIGHTED_ROUND_ROBIN;
+
+    private List<Key> keys = new ArrayList<>();
+
+    private Duration quotaEjection = Duration.ofHours(1);
+
+    private Duration authEjection = Duration.ofHours(6);
+
+    @Data
+    public static class Key {
+
+        private String name;
+
+        private String value;
+
+        private int weight = 1;
+    }
+}
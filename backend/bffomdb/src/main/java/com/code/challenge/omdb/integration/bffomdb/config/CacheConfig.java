@@ -1,33 +1,91 @@
 package com.code.challenge.omdb.integration.bffomdb.config;
 
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheNames;
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheWeigher;
+import com.code.challenge.omdb.integration.bffomdb.cache.CompositeSecondLevelCache;
+import com.code.challenge.omdb.integration.bffomdb.cache.DiskSecondLevelCache;
+import com.code.challenge.omdb.integration.bffomdb.cache.RedisSecondLevelCache;
+import com.code.challenge.omdb.integration.bffomdb.cache.SecondLevelCache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCache;
-import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.annotation.Order;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.util.List;
 
+@Slf4j
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({CacheProperties.class, WarmupProperties.class})
 public class CacheConfig {
 
+    private static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+
     @Bean
-    public CacheManager cacheManager() {
-
-        SimpleCacheManager cacheManager = new SimpleCacheManager();
-
-        ConcurrentMapCache movieDetailsCache = new ConcurrentMapCache("movieDetails");
-        ConcurrentMapCache movieSearchCache = new ConcurrentMapCache("movieSearch");
-        ConcurrentMapCache popularMoviesCache = new ConcurrentMapCache("popularMovies");
-        
-        cacheManager.setCaches(Arrays.asList(
-            movieDetailsCache,
-            movieSearchCache, 
-            popularMoviesCache
-        ));
-        
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of());
+
+        for (String cacheName : CacheNames.ALL) {
+            cacheManager.registerCustomCache(cacheName, buildCache(cacheName, cacheProperties.getSpec(cacheName)));
+        }
+
         return cacheManager;
     }
-} 
\ No newline at end of file
+
+    @Bean
+    @Order(1)
+    @ConditionalOnProperty(prefix = "cache.redis", name = "enabled", havingValue = "true")
+    public RedisSecondLevelCache redisSecondLevelCache(CacheProperties cacheProperties, CacheManager cacheManager,
+                                                       MeterRegistry meterRegistry) {
+        return new RedisSecondLevelCache(cacheProperties, cacheManager, meterRegistry);
+    }
+
+    @Bean
+    @Order(2)
+    @ConditionalOnProperty(prefix = "cache.disk", name = "enabled", havingValue = "true")
+    public DiskSecondLevelCache diskSecondLevelCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) throws IOException {
+        return new DiskSecondLevelCache(cacheProperties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public SecondLevelCache secondLevelCache(List<SecondLevelCache> tiers) {
+        return switch (tiers.size()) {
+            case 0 -> SecondLevelCache.NONE;
+            case 1 -> tiers.get(0);
+            default -> new CompositeSecondLevelCache(tiers);
+        };
+    }
+
+    private AsyncCache<Object, Object> buildCache(String cacheName, CacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .recordStats();
+
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight()).weigher(new CacheWeigher());
+        } else {
+            builder.maximumSize(spec.getMaximumSize() != null ? spec.getMaximumSize() : DEFAULT_MAXIMUM_SIZE);
+        }
+
+        log.info("Configured cache '{}': maximumSize={}, maximumWeight={}, expireAfterWrite={}, refreshAfterWrite={}",
+                cacheName, spec.getMaximumSize(), spec.getMaximumWeight(),
+                spec.getExpireAfterWrite(), spec.getRefreshAfterWrite());
+
+        return builder.buildAsync();
+    }
+}
@@ -0,0 +1,72 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheNames;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    private Disk disk = new Disk();
+
+    private Redis redis = new Redis();
+
+    public Spec getSpec(String cacheName) {
+        return specs.getOrDefault(cacheName, new Spec());
+    }
+
+    @Data
+    public static class Spec {
+
+        private Long maximumSize;
+
+        private Long maximumWeight;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        private Duration refreshAfterWrite;
+    }
+
+    @Data
+    public static class Disk {
+
+        private boolean enabled = false;
+
+        private String directory = System.getProperty("java.io.tmpdir") + "/bffomdb-cache";
+
+        private List<String> caches = List.of(CacheNames.MOVIE_DETAILS, CacheNames.MOVIE_SEARCH);
+
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        private Duration compactionInterval = Duration.ofMinutes(10);
+
+        private double compactionThreshold = 0.5;
+    }
+
+    @Data
+    public static class Redis {
+
+        private boolean enabled = false;
+
+        private String uri = "redis://localhost:6379";
+
+        private String keyPrefix = "bffomdb:";
+
+        private List<String> caches = List.of(CacheNames.MOVIE_DETAILS, CacheNames.MOVIE_SEARCH);
+
+        private Duration timeout = Duration.ofMillis(250);
+
+        private Duration retryInterval = Duration.ofSeconds(30);
+
+        private String invalidationChannel = "bffomdb:cache-invalidation";
+    }
+}
@@ -1,11 +1,13 @@
 package com.code.challenge.omdb.integration.bffomdb.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.cors.reactive.CorsWebFilter;
 
 import java.util.Arrays;
 import java.util.List;
@@ -27,6 +29,23 @@ public class CorsConfig {
     
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", buildCorsConfiguration());
+        
+        return source;
+    }
+    
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CorsWebFilter corsWebFilter() {
+        org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource source =
+                new org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", buildCorsConfiguration());
+        
+        return new CorsWebFilter(source);
+    }
+    
+    private CorsConfiguration buildCorsConfiguration() {
         CorsConfiguration configuration = new CorsConfiguration();
         
         configuration.setAllowedOrigins(Arrays.asList(allowedOrigins));
@@ -42,16 +61,15 @@ public class CorsConfig {
             "X-RateLimit-Limit",
             "X-RateLimit-Remaining", 
             "X-RateLimit-Reset",
-            "Retry-After"
+            "Retry-After",
+            "X-Cache",
+            "Age"
         ));
 
         configuration.setAllowCredentials(allowCredentials);
 
         configuration.setMaxAge(3600L);
         
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", configuration);
-        
-        return source;
+        return configuration;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "omdb.fan-out")
+public class FanOutProperties {
+
+    private Batch batch = new Batch();
+
+    private Expand expand = new Expand();
+
+    private Aggregate aggregate = new Aggregate();
+
+    @Data
+    public static class Batch {
+
+        private int concurrency = 8;
+    }
+
+    @Data
+    public static class Expand {
+
+        private int concurrency = 4;
+
+        private Duration deadline = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Aggregate {
+
+        private int maxPages = 10;
+    }
+}
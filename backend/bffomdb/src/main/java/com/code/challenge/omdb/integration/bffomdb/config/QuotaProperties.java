@@ -0,0 +1,54 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import com.code.challenge.omdb.integration.bffomdb.resilience.QuotaPriority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "omdb.quota")
+public class QuotaProperties {
+
+    private boolean enabled = true;
+
+    private long dailyBudget = 100_000;
+
+    private long burst = 1_000;
+
+    private double cacheOnlyBelow = 0.02;
+
+    private int maxQueueSize = 256;
+
+    private String key = "omdb-quota";
+
+    private Priority interactive = new Priority(0.0, Duration.ofSeconds(2));
+
+    private Priority prefetch = new Priority(0.2, Duration.ofMillis(500));
+
+    private Priority background = new Priority(0.5, Duration.ofSeconds(30));
+
+    public Priority getPriority(QuotaPriority priority) {
+        return switch (priority) {
+            case INTERACTIVE -> interactive;
+            case PREFETCH -> prefetch;
+            case BACKGROUND -> background;
+        };
+    }
+
+    public Duration getBurstPeriod() {
+        return Duration.ofDays(1).multipliedBy(Math.max(1, burst)).dividedBy(Math.max(1, dailyBudget));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Priority {
+
+        private double reserve;
+
+        private Duration maxWait;
+    }
+}
@@ -0,0 +1,73 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    public enum Store {
+        LOCAL, REDIS
+    }
+
+    private boolean enabled = true;
+
+    private long requestsPerMinute = 100;
+
+    private long missCost = 2;
+
+    private String apiKeyHeader = "X-API-Key";
+
+    private Map<String, Long> apiKeys = new LinkedHashMap<>();
+
+    private List<Route> routes = new ArrayList<>();
+
+    private Store store = Store.LOCAL;
+
+    private List<String> trustedProxies = List.of("127.0.0.1/32", "::1/128");
+
+    private Local local = new Local();
+
+    private Redis redis = new Redis();
+
+    @Data
+    public static class Route {
+
+        private String name;
+
+        private String pattern;
+
+        private Long requestsPerMinute;
+
+        private long cost = 1;
+
+        private Long missCost;
+    }
+
+    @Data
+    public static class Local {
+
+        private long maxClients = 100_000;
+
+        private Duration idleExpiry = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Redis {
+
+        private String uri = "redis://localhost:6379";
+
+        private String keyPrefix = "bffomdb:rate-limit:";
+
+        private Duration timeout = Duration.ofMillis(100);
+
+        private Duration retryInterval = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,44 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.LocalRateLimitStore;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.RateLimitStore;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.RedisRateLimitStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitStoreConfig {
+
+    @Bean
+    public LocalRateLimitStore localRateLimitStore(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new LocalRateLimitStore(properties.getLocal(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "rate-limit", name = "store", havingValue = "redis")
+    public RedisRateLimitStore redisRateLimitStore(RateLimitProperties properties, LocalRateLimitStore localRateLimitStore,
+                                                   MeterRegistry meterRegistry) {
+        return new RedisRateLimitStore(properties.getRedis(), localRateLimitStore, meterRegistry);
+    }
+
+    @Bean
+    public RateLimitStore quotaRateLimitStore(ObjectProvider<RedisRateLimitStore> redisRateLimitStore) {
+        LocalRateLimitStore local = LocalRateLimitStore.unbounded();
+        RedisRateLimitStore redis = redisRateLimitStore.getIfAvailable();
+        return redis != null ? redis.withFallback(local) : local;
+    }
+
+    @Bean
+    @Primary
+    public RateLimitStore rateLimitStore(LocalRateLimitStore localRateLimitStore,
+                                         ObjectProvider<RedisRateLimitStore> redisRateLimitStore) {
+        RedisRateLimitStore redis = redisRateLimitStore.getIfAvailable();
+        return redis != null ? redis : localRateLimitStore;
+    }
+}
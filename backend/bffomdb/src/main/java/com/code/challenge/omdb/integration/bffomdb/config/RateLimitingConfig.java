@@ -1,56 +1,105 @@
 package com.code.challenge.omdb.integration.bffomdb.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheMisses;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.RateLimitPolicies;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.RateLimitStore;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Component
 public class RateLimitingConfig {
-    
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-
-    private static final int REQUESTS_PER_MINUTE = 100;
-    
-    public boolean allowRequest(String clientIp) {
-        Bucket bucket = getBucket(clientIp);
-        boolean allowed = bucket.tryConsume(1);
-        
-        if (!allowed) {
-            log.warn("Rate limit exceeded for IP: {}", clientIp);
-        } else {
-            log.debug("Request allowed for IP: {} (remaining tokens: {})", 
-                clientIp, bucket.getAvailableTokens());
+
+    public record Decision(RateLimitPolicies.Plan plan, RateLimitStore.Limit limit, RateLimitStore.Probe probe) {
+
+        public boolean allowed() {
+            return probe.consumed();
+        }
+
+        public boolean limited() {
+            return limit != null;
+        }
+    }
+
+    private static final RateLimitStore.Probe EXEMPT = new RateLimitStore.Probe(true, Long.MAX_VALUE, 0, 0);
+
+    private final RateLimitStore rateLimitStore;
+    private final RateLimitPolicies policies;
+
+    public RateLimitingConfig(RateLimitStore rateLimitStore, RateLimitPolicies policies) {
+        this.rateLimitStore = rateLimitStore;
+        this.policies = policies;
+    }
+
+    public boolean isEnabled() {
+        return policies.snapshot().enabled();
+    }
+
+    public String getApiKeyHeader() {
+        return policies.snapshot().apiKeyHeader();
+    }
+
+    public Decision admit(String path, String clientIp, String apiKey) {
+        RateLimitPolicies.Plan plan = policies.plan(path, clientIp, apiKey);
+        Decision client = plan.cost() > 0
+                ? new Decision(plan, plan.clientLimit(), rateLimitStore.consume(plan.clientKey(), plan.clientLimit(), plan.cost()))
+                : exempt(plan);
+        if (!client.allowed() || plan.routeKey() == null) {
+            return logged(client);
+        }
+        RateLimitStore.Probe route = rateLimitStore.consume(plan.routeKey(), plan.routeLimit(), 1);
+        return logged(mostRestrictive(client, new Decision(plan, plan.routeLimit(), route)));
+    }
+
+    public Mono<Decision> tryAdmit(String path, String clientIp, String apiKey) {
+        RateLimitPolicies.Plan plan = policies.plan(path, clientIp, apiKey);
+        Mono<Decision> client = plan.cost() > 0
+                ? rateLimitStore.tryConsume(plan.clientKey(), plan.clientLimit(), plan.cost())
+                        .map(probe -> new Decision(plan, plan.clientLimit(), probe))
+                : Mono.just(exempt(plan));
+        return client
+                .flatMap(decision -> !decision.allowed() || plan.routeKey() == null
+                        ? Mono.just(decision)
+                        : rateLimitStore.tryConsume(plan.routeKey(), plan.routeLimit(), 1)
+                                .map(probe -> mostRestrictive(decision, new Decision(plan, plan.routeLimit(), probe))))
+                .map(RateLimitingConfig::logged);
+    }
+
+    public void charge(Decision decision, CacheMisses cacheMisses) {
+        RateLimitPolicies.Plan plan = decision.plan();
+        int misses = cacheMisses.getCount();
+        if (decision.allowed() && plan.missCost() > 0 && misses > 0) {
+            rateLimitStore.penalize(plan.clientKey(), plan.clientLimit(), plan.missCost() * misses);
         }
-        
-        return allowed;
-    }
-    
-    public long getSecondsToWait(String clientIp) {
-        Bucket bucket = getBucket(clientIp);
-        return bucket.estimateAbilityToConsume(1).getNanosToWaitForRefill() / 1_000_000_000;
-    }
-    
-    private Bucket getBucket(String clientIp) {
-        return buckets.computeIfAbsent(clientIp, this::createBucket);
-    }
-    
-    private Bucket createBucket(String clientIp) {
-
-        Bandwidth bandwidth = Bandwidth.classic(
-            REQUESTS_PER_MINUTE, 
-            Refill.intervally(REQUESTS_PER_MINUTE, Duration.ofMinutes(1))
-        );
-        
-        log.debug("Created new rate limiting bucket for IP: {}", clientIp);
-        return Bucket.builder()
-                .addLimit(bandwidth)
-                .build();
-    }
-} 
\ No newline at end of file
+    }
+
+    public static long secondsToWait(RateLimitStore.Probe probe) {
+        return (probe.nanosToWait() + 999_999_999) / 1_000_000_000;
+    }
+
+    public static long resetAtMillis(RateLimitStore.Probe probe) {
+        return System.currentTimeMillis() + (probe.consumed() ? probe.nanosToReset() : probe.nanosToWait()) / 1_000_000;
+    }
+
+    private static Decision exempt(RateLimitPolicies.Plan plan) {
+        return new Decision(plan, null, EXEMPT);
+    }
+
+    private static Decision mostRestrictive(Decision client, Decision route) {
+        if (client.limit() == null) {
+            return route;
+        }
+        return route.probe().remaining() < client.probe().remaining() ? route : client;
+    }
+
+    private static Decision logged(Decision decision) {
+        if (!decision.allowed()) {
+            log.warn("Rate limit exceeded for {}", decision.plan().clientKey());
+        } else if (log.isDebugEnabled()) {
+            log.debug("Request allowed for {} (remaining tokens: {})", decision.plan().clientKey(),
+                    decision.probe().remaining());
+        }
+        return decision;
+    }
+}
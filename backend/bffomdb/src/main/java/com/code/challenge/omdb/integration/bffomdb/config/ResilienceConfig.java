@@ -0,0 +1,9 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({ResilienceProperties.class, QuotaProperties.class})
+public class ResilienceConfig {
+}
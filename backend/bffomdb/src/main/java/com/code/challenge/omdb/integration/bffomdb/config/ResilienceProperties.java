@@ -0,0 +1,47 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "omdb.resilience")
+public class ResilienceProperties {
+
+    private Concurrency concurrency = new Concurrency();
+
+    private Hedging hedging = new Hedging();
+
+    @Data
+    public static class Concurrency {
+
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        private double backoffRatio = 0.9;
+
+        private Duration slowCallThreshold = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Hedging {
+
+        private boolean enabled = false;
+
+        private double percentile = 0.95;
+
+        private int window = 1_000;
+
+        private int minSamples = 100;
+
+        private Duration minDelay = Duration.ofMillis(50);
+
+        private double budget = 0.05;
+
+        private int maxBurst = 10;
+    }
+}
@@ -0,0 +1,15 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "search.index")
+public class SearchIndexProperties {
+
+    private boolean enabled = true;
+
+    private int maxDocuments = 50000;
+
+    private int maxPrefixExpansions = 64;
+}
@@ -0,0 +1,23 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "search.suggest")
+public class SuggestProperties {
+
+    private boolean enabled = true;
+
+    private int maxTitles = 20000;
+
+    private int maxLimit = 20;
+
+    private int maxScan = 5000;
+
+    private Duration rebuildInterval = Duration.ofSeconds(30);
+
+    private Duration halfLife = Duration.ofHours(6);
+}
@@ -0,0 +1,35 @@
+package com.code.challenge.omdb.integration.bffomdb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "cache.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    private boolean popular = true;
+
+    private List<String> searches = new ArrayList<>();
+
+    private List<String> movies = new ArrayList<>();
+
+    private int topN = 50;
+
+    private int maxTrackedKeys = 10_000;
+
+    private Duration interval = Duration.ofMinutes(15);
+
+    private int concurrency = 2;
+
+    private int ratePerSecond = 5;
+
+    private double readinessSuccessRatio = 0.8;
+
+    private Duration readinessTimeout = Duration.ofMinutes(2);
+}
@@ -1,9 +1,11 @@
 package com.code.challenge.omdb.integration.bffomdb.config;
 
+import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
@@ -11,13 +13,16 @@ import org.springframework.http.codec.ClientCodecConfigurer;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(ApiKeyPoolProperties.class)
 public class WebClientConfig {
     
     @Value("${omdb.api.url}")
@@ -26,10 +31,56 @@ public class WebClientConfig {
     @Value("${webclient.timeout.read:30s}")
     private Duration readTimeout;
 
+    @Value("${webclient.timeout.connection:5s}")
+    private Duration connectionTimeout;
+
+    @Value("${webclient.pool.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${webclient.pool.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${webclient.pool.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${webclient.pool.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${webclient.pool.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${webclient.pool.evict-in-background:30s}")
+    private Duration evictInBackground;
+
+    @Value("${webclient.keep-alive:true}")
+    private boolean keepAlive;
+
+    @Value("${webclient.http2:false}")
+    private boolean http2;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider omdbConnectionProvider() {
+        log.info("OMDB connection pool: maxConnections={}, pendingAcquireMaxCount={}, pendingAcquireTimeout={}, maxIdleTime={}, maxLifeTime={}",
+                maxConnections, pendingAcquireMaxCount, pendingAcquireTimeout, maxIdleTime, maxLifeTime);
+
+        return ConnectionProvider.builder("omdb")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+    }
     
     @Bean
-    public WebClient omdbWebClient() {
-        HttpClient httpClient = HttpClient.create()
+    public WebClient omdbWebClient(ConnectionProvider omdbConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(omdbConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectionTimeout.toMillis())
+                .keepAlive(keepAlive)
+                .protocol(http2 ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11} : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .metrics(true, uri -> "/")
                 .responseTimeout(readTimeout)
                 .doOnConnected(conn -> conn
                         .addHandlerLast(new ReadTimeoutHandler(readTimeout.toSeconds(), TimeUnit.SECONDS))
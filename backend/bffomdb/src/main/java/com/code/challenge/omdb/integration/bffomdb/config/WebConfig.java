@@ -1,12 +1,14 @@
 package com.code.challenge.omdb.integration.bffomdb.config;
 
 import com.code.challenge.omdb.integration.bffomdb.interceptor.RateLimitingInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class WebConfig implements WebMvcConfigurer {
     
     private final RateLimitingInterceptor rateLimitingInterceptor;
@@ -37,7 +39,9 @@ public class WebConfig implements WebMvcConfigurer {
                     "X-RateLimit-Limit",
                     "X-RateLimit-Remaining", 
                     "X-RateLimit-Reset",
-                    "Retry-After"
+                    "Retry-After",
+                    "X-Cache",
+                    "Age"
                 )
                 .maxAge(3600);
     }
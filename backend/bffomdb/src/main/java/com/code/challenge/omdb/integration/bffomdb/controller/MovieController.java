@@ -1,19 +1,39 @@
 package com.code.challenge.omdb.integration.bffomdb.controller;
 
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheMisses;
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheStatus;
+import com.code.challenge.omdb.integration.bffomdb.cache.SearchKey;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieAggregateSearchRequest;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieAggregateSearchResponse;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieBatchItem;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieBatchRequest;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieBatchResponse;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchEvent;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchRequest;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchResponse;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSuggestion;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieSummary;
 import com.code.challenge.omdb.integration.bffomdb.service.MovieService;
+import com.code.challenge.omdb.integration.bffomdb.warmup.HotKeyTracker;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
 
 @Slf4j
 @RestController
@@ -26,33 +46,97 @@ import java.util.List;
 public class MovieController {
     
     private final MovieService movieService;
+    private final HotKeyTracker hotKeyTracker;
     
-    @PostMapping("/search")
+    @PostMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<MovieSearchResponse>> searchMovies(@Valid @RequestBody MovieSearchRequest request) {
         log.info("Received search request: {}", request);
+        hotKeyTracker.recordSearch(SearchKey.of(request));
         
-        return movieService.searchMoviesWithFallback(request)
-                .map(ResponseEntity::ok)
+        return withCacheStatus(movieService.searchMoviesWithFallback(request), ResponseEntity::ok)
                 .doOnSuccess(response -> log.info("Search request completed successfully"))
                 .doOnError(error -> log.error("Search request failed", error));
     }
     
+    @PostMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MovieSearchEvent> streamSearch(@Valid @RequestBody MovieSearchRequest request) {
+        log.info("Received streaming search request: {}", request);
+        hotKeyTracker.recordSearch(SearchKey.of(request));
+
+        return streamSearchEvents(request);
+    }
+
+    @PostMapping(value = "/search", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<MovieSearchEvent>> streamSearchSse(@Valid @RequestBody MovieSearchRequest request) {
+        log.info("Received SSE search request: {}", request);
+        hotKeyTracker.recordSearch(SearchKey.of(request));
+
+        return streamSearchEvents(request).map(this::toServerSentEvent);
+    }
+
+    @PostMapping("/search/aggregate")
+    public Mono<ResponseEntity<MovieAggregateSearchResponse>> searchAggregated(
+            @Valid @RequestBody MovieAggregateSearchRequest request) {
+        log.info("Received aggregated search request: {}", request);
+        hotKeyTracker.recordSearch(SearchKey.of(request.getQuery(), 1, request.getType(), request.getYear()));
+
+        return withCacheMisses(movieService.searchAggregated(request))
+                .map(ResponseEntity::ok)
+                .doOnSuccess(response -> log.info("Aggregated search completed: {} results over {} pages",
+                        response.getBody().getTotal(), response.getBody().getPagesFetched()))
+                .doOnError(error -> log.error("Aggregated search request failed", error));
+    }
+
+    @PostMapping(value = "/search/aggregate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MovieSearchEvent> streamAggregated(@Valid @RequestBody MovieAggregateSearchRequest request) {
+        log.info("Received streaming aggregated search request: {}", request);
+        hotKeyTracker.recordSearch(SearchKey.of(request.getQuery(), 1, request.getType(), request.getYear()));
+
+        return streamAggregatedEvents(request);
+    }
+
+    @PostMapping(value = "/search/aggregate", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<MovieSearchEvent>> streamAggregatedSse(@Valid @RequestBody MovieAggregateSearchRequest request) {
+        log.info("Received SSE aggregated search request: {}", request);
+        hotKeyTracker.recordSearch(SearchKey.of(request.getQuery(), 1, request.getType(), request.getYear()));
+
+        return streamAggregatedEvents(request).map(this::toServerSentEvent);
+    }
+    
     @GetMapping("/{imdbId}")
     public Mono<ResponseEntity<MovieDetails>> getMovieDetails(@PathVariable @NotBlank String imdbId) {
         log.info("Received request for movie details: {}", imdbId);
+        hotKeyTracker.recordMovie(imdbId);
         
-        return movieService.getMovieDetails(imdbId)
-                .map(details -> {
-                    if (details.isSuccess()) {
-                        return ResponseEntity.ok(details);
-                    } else {
-                        return ResponseEntity.notFound().<MovieDetails>build();
-                    }
-                })
+        return withCacheStatus(movieService.getMovieDetails(imdbId), this::toDetailsResponse)
                 .doOnSuccess(response -> log.info("Movie details request completed: {}", imdbId))
                 .doOnError(error -> log.error("Movie details request failed for: {}", imdbId, error));
     }
     
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<MovieBatchResponse>> getMovieDetailsBatch(@Valid @RequestBody MovieBatchRequest request) {
+        log.info("Received batch details request for {} IDs", request.getImdbIds().size());
+        request.getImdbIds().forEach(hotKeyTracker::recordMovie);
+
+        return withCacheMisses(movieService.getMovieDetailsBatch(request.getImdbIds()))
+                .collectMap(MovieBatchItem::getImdbId)
+                .map(items -> new LinkedHashSet<>(request.getImdbIds()).stream().map(items::get).toList())
+                .map(results -> ResponseEntity.ok(MovieBatchResponse.of(results)))
+                .doOnSuccess(response -> log.info("Batch details request completed: {} found, {} not found, {} failed",
+                        response.getBody().getFound(), response.getBody().getNotFound(), response.getBody().getFailed()))
+                .doOnError(error -> log.error("Batch details request failed", error));
+    }
+
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MovieBatchItem> streamMovieDetailsBatch(@Valid @RequestBody MovieBatchRequest request) {
+        log.info("Received streaming batch details request for {} IDs", request.getImdbIds().size());
+        request.getImdbIds().forEach(hotKeyTracker::recordMovie);
+
+        return withCacheMisses(movieService.getMovieDetailsBatch(request.getImdbIds()))
+                .doOnComplete(() -> log.info("Streaming batch details request completed"))
+                .doOnError(error -> log.error("Streaming batch details request failed", error));
+    }
+
     @GetMapping("/title/{title}")
     public Mono<ResponseEntity<MovieDetails>> getMovieByTitle(
             @PathVariable @NotBlank String title,
@@ -60,14 +144,7 @@ public class MovieController {
         
         log.info("Received request for movie by title: '{}', year: {}", title, year);
         
-        return movieService.getMovieByTitle(title, year)
-                .map(details -> {
-                    if (details.isSuccess()) {
-                        return ResponseEntity.ok(details);
-                    } else {
-                        return ResponseEntity.notFound().<MovieDetails>build();
-                    }
-                })
+        return withCacheStatus(movieService.getMovieByTitle(title, year), this::toDetailsResponse)
                 .doOnSuccess(response -> log.info("Movie by title request completed: '{}'", title))
                 .doOnError(error -> log.error("Movie by title request failed for: '{}'", title, error));
     }
@@ -76,32 +153,74 @@ public class MovieController {
     public Mono<ResponseEntity<List<MovieSummary>>> getPopularMovies() {
         log.info("Received request for popular movies");
         
-        return movieService.getPopularMovies()
-                .map(ResponseEntity::ok)
+        return withCacheStatus(movieService.getPopularMovies(), ResponseEntity::ok)
                 .doOnSuccess(response -> log.info("Popular movies request completed"))
                 .doOnError(error -> log.error("Popular movies request failed", error));
     }
     
-    @GetMapping("/search")
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<MovieSearchResponse>> searchMoviesSimple(
             @RequestParam @NotBlank String q,
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(required = false) String type,
-            @RequestParam(required = false) Integer year) {
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String source) {
         
-        log.info("Received simple search request: q='{}', page={}, type={}, year={}", q, page, type, year);
+        log.info("Received simple search request: q='{}', page={}, type={}, year={}, expand={}, source={}",
+                q, page, type, year, expand, source);
         
-        MovieSearchRequest request = new MovieSearchRequest();
-        request.setQuery(q);
-        request.setPage(page);
-        request.setType(type);
-        request.setYear(year);
+        MovieSearchRequest request = toSearchRequest(q, page, type, year, expand, source);
+        hotKeyTracker.recordSearch(SearchKey.of(request));
         
-        return movieService.searchMoviesWithFallback(request)
-                .map(ResponseEntity::ok)
+        return withCacheStatus(movieService.searchMoviesWithFallback(request), ResponseEntity::ok)
                 .doOnSuccess(response -> log.info("Simple search request completed"))
                 .doOnError(error -> log.error("Simple search request failed", error));
     }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MovieSearchEvent> streamSearchSimple(
+            @RequestParam @NotBlank String q,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String source) {
+
+        log.info("Received streaming simple search request: q='{}', page={}, expand={}, source={}", q, page, expand, source);
+
+        MovieSearchRequest request = toSearchRequest(q, page, type, year, expand, source);
+        hotKeyTracker.recordSearch(SearchKey.of(request));
+
+        return streamSearchEvents(request);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<MovieSearchEvent>> streamSearchSimpleSse(
+            @RequestParam @NotBlank String q,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String source) {
+
+        log.info("Received SSE simple search request: q='{}', page={}, expand={}, source={}", q, page, expand, source);
+
+        MovieSearchRequest request = toSearchRequest(q, page, type, year, expand, source);
+        hotKeyTracker.recordSearch(SearchKey.of(request));
+
+        return streamSearchEvents(request).map(this::toServerSentEvent);
+    }
+    
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<List<MovieSuggestion>>> suggestTitles(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+
+        log.debug("Received title suggestion request: prefix='{}', limit={}", prefix, limit);
+
+        return Mono.fromSupplier(() -> ResponseEntity.ok(movieService.suggestTitles(prefix, limit)));
+    }
     
     @GetMapping("/health")
     public Mono<ResponseEntity<String>> healthCheck() {
@@ -110,4 +229,79 @@ public class MovieController {
         return Mono.just(ResponseEntity.ok("Movie service is healthy"))
                 .doOnSuccess(response -> log.debug("Health check completed"));
     }
+
+    private MovieSearchRequest toSearchRequest(String q, Integer page, String type, Integer year, String expand,
+                                               String source) {
+        MovieSearchRequest request = new MovieSearchRequest();
+        request.setQuery(q);
+        request.setPage(page);
+        request.setType(type);
+        request.setYear(year);
+        request.setExpand(expand);
+        request.setSource(source);
+        return request;
+    }
+
+    private Flux<MovieSearchEvent> streamSearchEvents(MovieSearchRequest request) {
+        return withCacheMisses(movieService.streamSearch(request))
+                .doOnComplete(() -> log.info("Streaming search request completed"))
+                .doOnError(error -> log.error("Streaming search request failed", error));
+    }
+
+    private Flux<MovieSearchEvent> streamAggregatedEvents(MovieAggregateSearchRequest request) {
+        return withCacheMisses(movieService.streamAggregated(request))
+                .doOnComplete(() -> log.info("Streaming aggregated search request completed"))
+                .doOnError(error -> log.error("Streaming aggregated search request failed", error));
+    }
+
+    private ServerSentEvent<MovieSearchEvent> toServerSentEvent(MovieSearchEvent event) {
+        return ServerSentEvent.builder(event)
+                .event(event.getType().name().toLowerCase(Locale.ROOT))
+                .build();
+    }
+
+    private ResponseEntity<MovieDetails> toDetailsResponse(MovieDetails details) {
+        if (details.isSuccess()) {
+            return ResponseEntity.ok(details);
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private <T> Mono<ResponseEntity<T>> withCacheStatus(Mono<T> result, Function<T, ResponseEntity<T>> toResponse) {
+        return withCacheMisses(Mono.defer(() -> {
+            CacheStatus cacheStatus = new CacheStatus();
+            return result
+                    .map(body -> withCacheHeaders(toResponse.apply(body), cacheStatus))
+                    .contextWrite(context -> CacheStatus.into(context, cacheStatus));
+        }));
+    }
+
+    private <T> Mono<T> withCacheMisses(Mono<T> result) {
+        CacheMisses cacheMisses = requestCacheMisses();
+        return cacheMisses == null ? result : result.contextWrite(context -> CacheMisses.into(context, cacheMisses));
+    }
+
+    private <T> Flux<T> withCacheMisses(Flux<T> result) {
+        CacheMisses cacheMisses = requestCacheMisses();
+        return cacheMisses == null ? result : result.contextWrite(context -> CacheMisses.into(context, cacheMisses));
+    }
+
+    private static CacheMisses requestCacheMisses() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && attributes.getAttribute(CacheMisses.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CacheMisses cacheMisses
+                ? cacheMisses
+                : null;
+    }
+
+    private <T> ResponseEntity<T> withCacheHeaders(ResponseEntity<T> response, CacheStatus cacheStatus) {
+        return cacheStatus.getResult()
+                .map(result -> ResponseEntity.status(response.getStatusCode())
+                        .headers(response.getHeaders())
+                        .header(CacheStatus.HEADER, result.name())
+                        .header(HttpHeaders.AGE, String.valueOf(cacheStatus.getAge().toSeconds()))
+                        .body(response.getBody()))
+                .orElse(response);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.code.challenge.omdb.integration.bffomdb.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class MovieAggregateSearchRequest {
+
+    @NotBlank(message = "Search query cannot be empty")
+    @Size(min = 1, max = 100, message = "Search query must be between 1 and 100 characters")
+    private String query;
+
+    private String type;
+
+    private Integer year;
+
+    @Min(value = 1, message = "Pages must be greater than 0")
+    @Max(value = 10, message = "At most 10 OMDB pages can be aggregated")
+    private Integer pages = 5;
+
+    @Pattern(regexp = "-?(relevance|year|rating|title)",
+            message = "Sort must be one of relevance, year, rating, title, optionally prefixed with '-'")
+    private String sort = "relevance";
+
+    @Min(value = 1800, message = "Decade must be a year such as 1990")
+    private Integer decade;
+
+    @DecimalMin(value = "0.0", message = "Minimum rating must be between 0 and 10")
+    @DecimalMax(value = "10.0", message = "Minimum rating must be between 0 and 10")
+    private Double minRating;
+
+    @Min(value = 1, message = "Limit must be greater than 0")
+    @Max(value = 100, message = "Limit must be at most 100")
+    private Integer limit = 20;
+
+    private String cursor;
+
+    public Integer getPages() {
+        return pages != null ? pages : 5;
+    }
+
+    public String getSort() {
+        return sort != null ? sort : "relevance";
+    }
+
+    public Integer getLimit() {
+        return limit != null ? limit : 20;
+    }
+
+    public String getSortField() {
+        return isDescending() ? getSort().substring(1) : getSort();
+    }
+
+    public boolean isDescending() {
+        return getSort().startsWith("-");
+    }
+
+    public boolean needsRatings() {
+        return minRating != null || "rating".equals(getSortField());
+    }
+}
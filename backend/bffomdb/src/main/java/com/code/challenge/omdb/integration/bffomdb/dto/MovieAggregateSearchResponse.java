@@ -0,0 +1,21 @@
+package com.code.challenge.omdb.integration.bffomdb.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MovieAggregateSearchResponse {
+
+    private List<MovieSummary> results;
+
+    private int total;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    private int pagesFetched;
+
+    private int pagesFailed;
+}
@@ -0,0 +1,46 @@
+package com.code.challenge.omdb.integration.bffomdb.dto;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MovieBatchItem {
+
+    public enum Status {
+        FOUND, NOT_FOUND, ERROR
+    }
+
+    private String imdbId;
+
+    private Status status;
+
+    private CacheStatus.Result cache;
+
+    private MovieDetails details;
+
+    private String error;
+
+    public static MovieBatchItem of(String imdbId, MovieDetails details, CacheStatus cacheStatus) {
+        MovieBatchItem item = new MovieBatchItem();
+        item.setImdbId(imdbId);
+        item.setCache(cacheStatus.getResult().orElse(null));
+        if (details.isSuccess()) {
+            item.setStatus(Status.FOUND);
+            item.setDetails(details);
+        } else {
+            item.setStatus(Status.NOT_FOUND);
+            item.setError(details.getError());
+        }
+        return item;
+    }
+
+    public static MovieBatchItem failed(String imdbId, String error) {
+        MovieBatchItem item = new MovieBatchItem();
+        item.setImdbId(imdbId);
+        item.setStatus(Status.ERROR);
+        item.setError(error);
+        return item;
+    }
+}
@@ -0,0 +1,16 @@
+package com.code.challenge.omdb.integration.bffomdb.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MovieBatchRequest {
+
+    @NotEmpty(message = "At least one IMDB ID is required")
+    @Size(max = 50, message = "A batch can contain at most 50 IMDB IDs")
+    private List<@NotBlank(message = "IMDB ID cannot be empty") String> imdbIds;
+}
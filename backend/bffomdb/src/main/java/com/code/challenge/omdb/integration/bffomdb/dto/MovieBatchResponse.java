@@ -0,0 +1,30 @@
+package com.code.challenge.omdb.integration.bffomdb.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MovieBatchResponse {
+
+    private List<MovieBatchItem> results;
+
+    private int found;
+
+    private int notFound;
+
+    private int failed;
+
+    public static MovieBatchResponse of(List<MovieBatchItem> results) {
+        MovieBatchResponse response = new MovieBatchResponse();
+        response.setResults(results);
+        for (MovieBatchItem item : results) {
+            switch (item.getStatus()) {
+                case FOUND -> response.found++;
+                case NOT_FOUND -> response.notFound++;
+                case ERROR -> response.failed++;
+            }
+        }
+        return response;
+    }
+}
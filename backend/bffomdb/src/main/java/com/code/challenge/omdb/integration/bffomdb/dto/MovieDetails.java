@@ -1,8 +1,13 @@
 package com.code.challenge.omdb.integration.bffomdb.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.List;
 
@@ -88,6 +93,11 @@ public class MovieDetails {
     @JsonProperty("Error")
     private String error;
     
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient MovieFacts facts;
+    
     @Data
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Rating {
@@ -106,11 +116,48 @@ public class MovieDetails {
         return poster != null && !"N/A".equals(poster);
     }
     
-    public Double getImdbRatingAsDouble() {
-        try {
-            return Double.parseDouble(imdbRating);
-        } catch (NumberFormatException e) {
-            return null;
+    @JsonIgnore
+    public MovieFacts getFacts() {
+        MovieFacts parsed = facts;
+        if (parsed == null) {
+            parsed = MovieFacts.of(this);
+            facts = parsed;
         }
+        return parsed;
+    }
+    
+    public Double getImdbRatingAsDouble() {
+        MovieFacts parsed = getFacts();
+        return parsed.hasImdbRating() ? parsed.imdbRating() : null;
+    }
+    
+    public void setYear(String year) {
+        this.year = year;
+        this.facts = null;
+    }
+    
+    public void setRuntime(String runtime) {
+        this.runtime = runtime;
+        this.facts = null;
+    }
+    
+    public void setMetascore(String metascore) {
+        this.metascore = metascore;
+        this.facts = null;
+    }
+    
+    public void setImdbRating(String imdbRating) {
+        this.imdbRating = imdbRating;
+        this.facts = null;
+    }
+    
+    public void setImdbVotes(String imdbVotes) {
+        this.imdbVotes = imdbVotes;
+        this.facts = null;
+    }
+    
+    public void setBoxOffice(String boxOffice) {
+        this.boxOffice = boxOffice;
+        this.facts = null;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.code.challenge.omdb.integration.bffomdb.dto;
+
+public record MovieFacts(double imdbRating, long imdbVotes, int metascore, int runtimeMinutes,
+                         int startYear, int endYear, long boxOffice) {
+
+    public static final int ABSENT = -1;
+
+    public static MovieFacts of(MovieDetails details) {
+        int startYear = parseYear(details.getYear(), 0);
+        int endYear = startYear == ABSENT ? ABSENT : parseEndYear(details.getYear(), startYear);
+        return new MovieFacts(
+                parseDecimal(details.getImdbRating()),
+                parseLong(details.getImdbVotes()),
+                (int) parseLong(details.getMetascore()),
+                (int) parseLong(details.getRuntime()),
+                startYear,
+                endYear,
+                parseLong(details.getBoxOffice()));
+    }
+
+    public boolean hasImdbRating() {
+        return imdbRating != ABSENT;
+    }
+
+    public boolean hasImdbVotes() {
+        return imdbVotes != ABSENT;
+    }
+
+    public boolean hasMetascore() {
+        return metascore != ABSENT;
+    }
+
+    public boolean hasRuntime() {
+        return runtimeMinutes != ABSENT;
+    }
+
+    public boolean hasBoxOffice() {
+        return boxOffice != ABSENT;
+    }
+
+    public boolean isOngoing() {
+        return startYear != ABSENT && endYear == ABSENT;
+    }
+
+    public boolean releasedIn(int year) {
+        return startYear != ABSENT && year >= startYear && (endYear == ABSENT || year <= endYear);
+    }
+
+    public static int parseStartYear(String value) {
+        return parseYear(value, 0);
+    }
+
+    public static long parseLong(String value) {
+        if (value == null) {
+            return ABSENT;
+        }
+        long result = 0;
+        boolean digits = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (result > (Long.MAX_VALUE - 9) / 10) {
+                    return ABSENT;
+                }
+                result = result * 10 + (c - '0');
+                digits = true;
+            } else if (c == ' ' && digits) {
+                break;
+            } else if (c != ',' && c != '$' && c != ' ') {
+                return ABSENT;
+            }
+        }
+        return digits ? result : ABSENT;
+    }
+
+    public static double parseDecimal(String value) {
+        if (value == null) {
+            return ABSENT;
+        }
+        long whole = 0;
+        long fraction = 0;
+        long scale = 1;
+        boolean digits = false;
+        boolean point = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9' && scale < 1_000_000_000L) {
+                if (point) {
+                    fraction = fraction * 10 + (c - '0');
+                    scale *= 10;
+                } else {
+                    whole = whole * 10 + (c - '0');
+                }
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return ABSENT;
+            }
+        }
+        return digits ? whole + (double) fraction / scale : ABSENT;
+    }
+
+    private static int parseYear(String value, int from) {
+        if (value == null || value.length() < from + 4) {
+            return ABSENT;
+        }
+        int year = 0;
+        for (int i = from; i < from + 4; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return ABSENT;
+            }
+            year = year * 10 + (c - '0');
+        }
+        return year;
+    }
+
+    private static int parseEndYear(String value, int startYear) {
+        if (value.length() == 4) {
+            return startYear;
+        }
+        char separator = value.charAt(4);
+        if (separator != '–' && separator != '-') {
+            return startYear;
+        }
+        return parseYear(value, 5);
+    }
+}
@@ -0,0 +1,72 @@
+package com.code.challenge.omdb.integration.bffomdb.dto;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MovieSearchEvent {
+
+    public enum Type {
+        MOVIE, SUMMARY
+    }
+
+    private Type type;
+
+    private Integer index;
+
+    private MovieSummary movie;
+
+    private Boolean success;
+
+    private Integer count;
+
+    private Integer totalResults;
+
+    private Integer pagesFetched;
+
+    private Integer pagesFailed;
+
+    private String error;
+
+    private CacheStatus.Result cache;
+
+    public static MovieSearchEvent movie(int index, MovieSummary movie) {
+        MovieSearchEvent event = new MovieSearchEvent();
+        event.setType(Type.MOVIE);
+        event.setIndex(index);
+        event.setMovie(movie);
+        return event;
+    }
+
+    public static MovieSearchEvent summary(MovieSearchResponse response, CacheStatus cacheStatus) {
+        MovieSearchEvent event = new MovieSearchEvent();
+        event.setType(Type.SUMMARY);
+        event.setSuccess(response.isSuccess());
+        event.setCount(response.getSearch() != null ? response.getSearch().size() : 0);
+        event.setTotalResults(response.getTotalResultsAsInt());
+        event.setError(response.getError());
+        event.setCache(cacheStatus.getResult().orElse(null));
+        return event;
+    }
+
+    public static MovieSearchEvent aggregate(int count, int pagesFetched, int pagesFailed) {
+        MovieSearchEvent event = new MovieSearchEvent();
+        event.setType(Type.SUMMARY);
+        event.setSuccess(pagesFetched > 0);
+        event.setCount(count);
+        event.setPagesFetched(pagesFetched);
+        event.setPagesFailed(pagesFailed);
+        return event;
+    }
+
+    public static MovieSearchEvent failed(String error) {
+        MovieSearchEvent event = new MovieSearchEvent();
+        event.setType(Type.SUMMARY);
+        event.setSuccess(false);
+        event.setCount(0);
+        event.setError(error);
+        return event;
+    }
+}
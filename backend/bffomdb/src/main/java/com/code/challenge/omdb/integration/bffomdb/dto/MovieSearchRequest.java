@@ -2,9 +2,12 @@ package com.code.challenge.omdb.integration.bffomdb.dto;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
+import java.util.Locale;
+
 @Data
 public class MovieSearchRequest {
     
@@ -19,7 +22,32 @@ public class MovieSearchRequest {
     
     private Integer year;
     
+    @Pattern(regexp = "details", flags = Pattern.Flag.CASE_INSENSITIVE, message = "Expand must be 'details'")
+    private String expand;
+    
+    @Pattern(regexp = "local|omdb|hybrid", flags = Pattern.Flag.CASE_INSENSITIVE, message = "Source must be one of local, omdb, hybrid")
+    private String source;
+    
+    public enum Source {
+        LOCAL, OMDB, HYBRID
+    }
+    
     public String getTypeOrDefault() {
         return type != null ? type : "movie";
     }
+    
+    public boolean isExpandDetails() {
+        return "details".equalsIgnoreCase(expand);
+    }
+    
+    public Source getSourceOrDefault() {
+        if (source == null) {
+            return Source.OMDB;
+        }
+        try {
+            return Source.valueOf(source.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Source must be one of local, omdb, hybrid");
+        }
+    }
 } 
\ No newline at end of file
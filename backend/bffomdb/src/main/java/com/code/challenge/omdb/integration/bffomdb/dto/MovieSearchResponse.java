@@ -2,7 +2,12 @@ package com.code.challenge.omdb.integration.bffomdb.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.List;
 
@@ -10,6 +15,8 @@ import java.util.List;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class MovieSearchResponse {
     
+    private static final int UNPARSED = Integer.MIN_VALUE;
+    
     @JsonProperty("Search")
     private List<MovieSummary> search;
     
@@ -22,15 +29,41 @@ public class MovieSearchResponse {
     @JsonProperty("Error")
     private String error;
     
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient int totalResultsCount = UNPARSED;
+    
     public boolean isSuccess() {
         return "True".equals(response);
     }
     
+    public MovieSearchResponse withSearch(List<MovieSummary> search) {
+        MovieSearchResponse copy = new MovieSearchResponse();
+        copy.setSearch(search);
+        copy.setTotalResults(totalResults);
+        copy.setResponse(response);
+        copy.setError(error);
+        return copy;
+    }
+    
+    public void setTotalResults(String totalResults) {
+        this.totalResults = totalResults;
+        this.totalResultsCount = parseCount(totalResults);
+    }
+    
     public int getTotalResultsAsInt() {
-        try {
-            return Integer.parseInt(totalResults);
-        } catch (NumberFormatException e) {
-            return 0;
+        int count = totalResultsCount;
+        if (count == UNPARSED) {
+            count = parseCount(totalResults);
+            totalResultsCount = count;
         }
+        return count;
+    }
+    
+    private static int parseCount(String value) {
+        long parsed = MovieFacts.parseLong(value);
+        return parsed == MovieFacts.ABSENT || parsed > Integer.MAX_VALUE ? 0 : (int) parsed;
     }
 } 
\ No newline at end of file
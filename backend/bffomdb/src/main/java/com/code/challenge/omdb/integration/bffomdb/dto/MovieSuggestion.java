@@ -0,0 +1,25 @@
+package com.code.challenge.omdb.integration.bffomdb.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class MovieSuggestion {
+
+    @JsonProperty("Title")
+    private String title;
+
+    @JsonProperty("Year")
+    private String year;
+
+    @JsonProperty("imdbID")
+    private String imdbId;
+
+    public static MovieSuggestion of(String title, String year, String imdbId) {
+        MovieSuggestion suggestion = new MovieSuggestion();
+        suggestion.setTitle(title);
+        suggestion.setYear(year);
+        suggestion.setImdbId(imdbId);
+        return suggestion;
+    }
+}
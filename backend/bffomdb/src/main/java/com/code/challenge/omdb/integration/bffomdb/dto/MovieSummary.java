@@ -1,6 +1,7 @@
 package com.code.challenge.omdb.integration.bffomdb.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
@@ -22,4 +23,59 @@ public class MovieSummary {
     
     @JsonProperty("Poster")
     private String poster;
-}
\ No newline at end of file
+
+    @JsonProperty("Rated")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String rated;
+
+    @JsonProperty("Runtime")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String runtime;
+
+    @JsonProperty("Genre")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String genre;
+
+    @JsonProperty("Director")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String director;
+
+    @JsonProperty("Actors")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String actors;
+
+    @JsonProperty("Plot")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String plot;
+
+    @JsonProperty("Metascore")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String metascore;
+
+    @JsonProperty("imdbRating")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String imdbRating;
+
+    @JsonProperty("imdbVotes")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String imdbVotes;
+
+    public MovieSummary withDetails(MovieDetails details) {
+        MovieSummary expanded = new MovieSummary();
+        expanded.setTitle(title);
+        expanded.setYear(year);
+        expanded.setImdbId(imdbId);
+        expanded.setType(type);
+        expanded.setPoster(poster);
+        expanded.setRated(details.getRated());
+        expanded.setRuntime(details.getRuntime());
+        expanded.setGenre(details.getGenre());
+        expanded.setDirector(details.getDirector());
+        expanded.setActors(details.getActors());
+        expanded.setPlot(details.getPlot());
+        expanded.setMetascore(details.getMetascore());
+        expanded.setImdbRating(details.getImdbRating());
+        expanded.setImdbVotes(details.getImdbVotes());
+        return expanded;
+    }
+}
@@ -0,0 +1,13 @@
+package com.code.challenge.omdb.integration.bffomdb.exception;
+
+public class OmdbUnavailableException extends OmdbApiException {
+
+    public OmdbUnavailableException(String message) {
+        super(message);
+    }
+
+    public OmdbUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.code.challenge.omdb.integration.bffomdb.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGlobalExceptionHandler {
+    
+    @ExceptionHandler(OmdbApiException.class)
+    public ResponseEntity<ErrorResponse> handleOmdbApiException(OmdbApiException ex, ServerWebExchange exchange) {
+        log.error("OMDB API Error: {}", ex.getMessage(), ex);
+        
+        return error(HttpStatus.BAD_GATEWAY, "OMDB API Error", ex.getMessage(), exchange, null);
+    }
+    
+    @ExceptionHandler(OmdbUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleOmdbUnavailableException(OmdbUnavailableException ex, ServerWebExchange exchange) {
+        log.warn("OMDB API unavailable: {}", ex.getMessage());
+        
+        return error(HttpStatus.SERVICE_UNAVAILABLE, "OMDB API Unavailable", ex.getMessage(), exchange, null);
+    }
+    
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(WebExchangeBindException ex, ServerWebExchange exchange) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+        
+        return error(HttpStatus.BAD_REQUEST, "Validation Failed", "Invalid request parameters", exchange, errors);
+    }
+    
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex, ServerWebExchange exchange) {
+        log.error("Illegal argument: {}", ex.getMessage(), ex);
+        
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), exchange, null);
+    }
+    
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, ServerWebExchange exchange) {
+        log.error("Unexpected error: {}", ex.getMessage(), ex);
+        
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "An unexpected error occurred", exchange, null);
+    }
+    
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String error, String message,
+                                                ServerWebExchange exchange, Map<String, String> validationErrors) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .path(exchange.getRequest().getPath().value())
+                .validationErrors(validationErrors)
+                .build();
+        
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
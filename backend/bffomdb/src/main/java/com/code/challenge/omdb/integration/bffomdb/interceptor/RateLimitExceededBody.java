@@ -0,0 +1,61 @@
+package com.code.challenge.omdb.integration.bffomdb.interceptor;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+final class RateLimitExceededBody {
+
+    private static final byte[] PREFIX = ("{\"status\":" + HttpStatus.TOO_MANY_REQUESTS.value()
+            + ",\"error\":\"Too Many Requests\""
+            + ",\"message\":\"Rate limit exceeded. You have exceeded the maximum number of requests per minute.\""
+            + ",\"timestamp\":\"").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RETRY_AFTER = "\",\"retryAfter\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PATH = ",\"path\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private record Timestamp(long epochSecond, byte[] encoded) {
+    }
+
+    private static volatile Timestamp timestamp = new Timestamp(-1, new byte[0]);
+
+    private RateLimitExceededBody() {
+    }
+
+    static byte[] render(long retryAfter, String path) {
+        byte[] now = timestamp();
+        byte[] seconds = Long.toString(retryAfter).getBytes(StandardCharsets.US_ASCII);
+        byte[] escapedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+
+        byte[] body = new byte[PREFIX.length + now.length + RETRY_AFTER.length + seconds.length + PATH.length
+                + escapedPath.length + SUFFIX.length];
+        int offset = append(body, 0, PREFIX);
+        offset = append(body, offset, now);
+        offset = append(body, offset, RETRY_AFTER);
+        offset = append(body, offset, seconds);
+        offset = append(body, offset, PATH);
+        offset = append(body, offset, escapedPath);
+        append(body, offset, SUFFIX);
+        return body;
+    }
+
+    private static byte[] timestamp() {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        Timestamp current = timestamp;
+        if (current.epochSecond() != epochSecond) {
+            String formatted = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault()).toString();
+            current = new Timestamp(epochSecond, formatted.getBytes(StandardCharsets.US_ASCII));
+            timestamp = current;
+        }
+        return current.encoded();
+    }
+
+    private static int append(byte[] target, int offset, byte[] source) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
+}
@@ -1,74 +1,72 @@
 package com.code.challenge.omdb.integration.bffomdb.interceptor;
 
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheMisses;
 import com.code.challenge.omdb.integration.bffomdb.config.RateLimitingConfig;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.ClientIpResolver;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import java.time.LocalDateTime;
-import java.util.Map;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RateLimitingInterceptor implements HandlerInterceptor {
+
+    private static final String DECISION_ATTRIBUTE = RateLimitingInterceptor.class.getName() + ".decision";
     
     private final RateLimitingConfig rateLimitingConfig;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ClientIpResolver clientIpResolver;
     
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String clientIp = getClientIp(request);
-
-        if (isHealthCheckOrActuator(request.getRequestURI())) {
+        String uri = request.getRequestURI();
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !rateLimitingConfig.isEnabled()
+                || isHealthCheckOrActuator(uri)) {
             return true;
         }
-        
-        if (!rateLimitingConfig.allowRequest(clientIp)) {
-            long retryAfter = rateLimitingConfig.getSecondsToWait(clientIp);
-            
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            response.setHeader("Retry-After", String.valueOf(retryAfter));
-            response.setHeader("X-RateLimit-Limit", "100");
-            response.setHeader("X-RateLimit-Remaining", "0");
-            response.setHeader("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() + (retryAfter * 1000)));
-            
-            Map<String, Object> errorResponse = Map.of(
-                "timestamp", LocalDateTime.now(),
-                "status", HttpStatus.TOO_MANY_REQUESTS.value(),
-                "error", "Too Many Requests",
-                "message", "Rate limit exceeded. You have exceeded the maximum number of requests per minute.",
-                "retryAfter", retryAfter,
-                "path", request.getRequestURI()
-            );
-            
-            response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
-            return false;
+
+        String clientIp = clientIpResolver.resolve(request.getRemoteAddr(), request.getHeader("X-Forwarded-For"),
+                request.getHeader("X-Real-IP"));
+        RateLimitingConfig.Decision decision = rateLimitingConfig.admit(uri, clientIp,
+                request.getHeader(rateLimitingConfig.getApiKeyHeader()));
+
+        if (decision.limited()) {
+            response.setHeader("X-RateLimit-Limit", Long.toString(decision.limit().capacity()));
+            response.setHeader("X-RateLimit-Remaining", Long.toString(decision.probe().remaining()));
+            response.setHeader("X-RateLimit-Reset", Long.toString(RateLimitingConfig.resetAtMillis(decision.probe())));
         }
-        
-        return true;
+        if (decision.allowed()) {
+            request.setAttribute(DECISION_ATTRIBUTE, decision);
+            request.setAttribute(CacheMisses.ATTRIBUTE, new CacheMisses());
+            return true;
+        }
+
+        long retryAfter = RateLimitingConfig.secondsToWait(decision.probe());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        byte[] body = RateLimitExceededBody.render(retryAfter, uri);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
     }
-    
-    private String getClientIp(HttpServletRequest request) {
 
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(DECISION_ATTRIBUTE) instanceof RateLimitingConfig.Decision decision) {
+            request.removeAttribute(DECISION_ATTRIBUTE);
+            if (request.getAttribute(CacheMisses.ATTRIBUTE) instanceof CacheMisses cacheMisses) {
+                rateLimitingConfig.charge(decision, cacheMisses);
+            }
         }
-        
-        return request.getRemoteAddr();
     }
     
     private boolean isHealthCheckOrActuator(String uri) {
@@ -77,4 +75,4 @@ public class RateLimitingInterceptor implements HandlerInterceptor {
                uri.contains("/swagger") ||
                uri.contains("/api-docs");
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package com.code.challenge.omdb.integration.bffomdb.interceptor;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheMisses;
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitingConfig;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.ClientIpResolver;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.RateLimitStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class RateLimitingWebFilter implements WebFilter, Ordered {
+    
+    private final RateLimitingConfig rateLimitingConfig;
+    private final ClientIpResolver clientIpResolver;
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+
+        if (!rateLimitingConfig.isEnabled() || isHealthCheckOrActuator(path)) {
+            return chain.filter(exchange);
+        }
+        
+        String clientIp = getClientIp(request);
+        String apiKey = request.getHeaders().getFirst(rateLimitingConfig.getApiKeyHeader());
+        return rateLimitingConfig.tryAdmit(path, clientIp, apiKey).flatMap(decision -> {
+            ServerHttpResponse response = exchange.getResponse();
+            if (decision.limited()) {
+                response.getHeaders().set("X-RateLimit-Limit", Long.toString(decision.limit().capacity()));
+                response.getHeaders().set("X-RateLimit-Remaining", Long.toString(decision.probe().remaining()));
+                response.getHeaders().set("X-RateLimit-Reset",
+                        Long.toString(RateLimitingConfig.resetAtMillis(decision.probe())));
+            }
+            if (!decision.allowed()) {
+                return reject(response, path, decision.probe());
+            }
+            CacheMisses cacheMisses = new CacheMisses();
+            return chain.filter(exchange)
+                    .contextWrite(context -> CacheMisses.into(context, cacheMisses))
+                    .then(Mono.fromRunnable(() -> rateLimitingConfig.charge(decision, cacheMisses)));
+        });
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, String path, RateLimitStore.Probe probe) {
+        long retryAfter = RateLimitingConfig.secondsToWait(probe);
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set("Retry-After", Long.toString(retryAfter));
+
+        DataBuffer body = response.bufferFactory().wrap(RateLimitExceededBody.render(retryAfter, path));
+        return response.writeWith(Mono.just(body));
+    }
+    
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+    
+    private String getClientIp(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String remoteIp = remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : null;
+        return clientIpResolver.resolve(remoteIp, request.getHeaders().getFirst("X-Forwarded-For"),
+                request.getHeaders().getFirst("X-Real-IP"));
+    }
+    
+    private boolean isHealthCheckOrActuator(String uri) {
+        return uri.startsWith("/actuator") || 
+               uri.contains("/health") ||
+               uri.contains("/swagger") ||
+               uri.contains("/api-docs");
+    }
+}
@@ -0,0 +1,275 @@
+package com.code.challenge.omdb.integration.bffomdb.ratelimit;
+
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Slf4j
+@Component
+public class ClientIpResolver {
+
+    private static final String UNKNOWN = "unknown";
+    private static final long INVALID = -1;
+
+    private record Ipv6Network(byte[] address, int prefixLength) {
+
+        private boolean contains(byte[] candidate) {
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (candidate[i] != address[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (candidate[fullBytes] & mask) == (address[fullBytes] & mask);
+        }
+    }
+
+    private final int[] ipv4Addresses;
+    private final int[] ipv4Masks;
+    private final List<Ipv6Network> ipv6Networks = new ArrayList<>();
+
+    public ClientIpResolver(RateLimitProperties properties) {
+        List<int[]> ipv4Networks = new ArrayList<>();
+        for (String cidr : properties.getTrustedProxies()) {
+            if (!addNetwork(cidr.trim(), ipv4Networks)) {
+                log.warn("Ignoring invalid trusted proxy range: {}", cidr);
+            }
+        }
+        ipv4Addresses = ipv4Networks.stream().mapToInt(network -> network[0]).toArray();
+        ipv4Masks = ipv4Networks.stream().mapToInt(network -> network[1]).toArray();
+    }
+
+    public String resolve(String remoteAddress, String forwardedFor, String realIp) {
+        if (remoteAddress == null) {
+            return UNKNOWN;
+        }
+        if (!isTrusted(remoteAddress, 0, remoteAddress.length())) {
+            return remoteAddress;
+        }
+
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            int clientStart = -1;
+            int clientEnd = -1;
+            for (int end = forwardedFor.length(); end >= 0; ) {
+                int comma = forwardedFor.lastIndexOf(',', end - 1);
+                int start = comma + 1;
+                int hopEnd = end;
+                while (start < hopEnd && Character.isWhitespace(forwardedFor.charAt(start))) {
+                    start++;
+                }
+                while (hopEnd > start && Character.isWhitespace(forwardedFor.charAt(hopEnd - 1))) {
+                    hopEnd--;
+                }
+                if (!isAddress(forwardedFor, start, hopEnd)) {
+                    break;
+                }
+                clientStart = start;
+                clientEnd = hopEnd;
+                if (!isTrusted(forwardedFor, start, hopEnd)) {
+                    break;
+                }
+                end = comma;
+            }
+            return clientStart < 0 ? remoteAddress : forwardedFor.substring(clientStart, clientEnd);
+        }
+
+        if (realIp != null) {
+            String candidate = realIp.trim();
+            if (isAddress(candidate, 0, candidate.length())) {
+                return candidate;
+            }
+        }
+        return remoteAddress;
+    }
+
+    private boolean isTrusted(String value, int start, int end) {
+        long ipv4 = parseIpv4(value, start, end);
+        if (ipv4 != INVALID) {
+            return isTrustedIpv4((int) ipv4);
+        }
+        byte[] ipv6 = parseIpv6(value, start, end);
+        if (ipv6 == null) {
+            return false;
+        }
+        if (ipv6.length == 4) {
+            return isTrustedIpv4(toInt(ipv6));
+        }
+        for (Ipv6Network network : ipv6Networks) {
+            if (network.contains(ipv6)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isTrustedIpv4(int address) {
+        for (int i = 0; i < ipv4Addresses.length; i++) {
+            if ((address & ipv4Masks[i]) == ipv4Addresses[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean addNetwork(String cidr, List<int[]> ipv4Networks) {
+        int slash = cidr.indexOf('/');
+        int addressEnd = slash < 0 ? cidr.length() : slash;
+        int prefixLength;
+        try {
+            prefixLength = slash < 0 ? -1 : Integer.parseInt(cidr.substring(slash + 1));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        long ipv4 = parseIpv4(cidr, 0, addressEnd);
+        if (ipv4 != INVALID) {
+            if (prefixLength > 32) {
+                return false;
+            }
+            int mask = prefixLength == 0 ? 0 : -1 << (32 - (prefixLength < 0 ? 32 : prefixLength));
+            ipv4Networks.add(new int[] {(int) ipv4 & mask, mask});
+            return true;
+        }
+        byte[] ipv6 = parseIpv6(cidr, 0, addressEnd);
+        if (ipv6 == null || ipv6.length != 16 || prefixLength > 128) {
+            return false;
+        }
+        ipv6Networks.add(new Ipv6Network(ipv6, prefixLength < 0 ? 128 : prefixLength));
+        return true;
+    }
+
+    private static boolean isAddress(String value, int start, int end) {
+        return parseIpv4(value, start, end) != INVALID || parseIpv6(value, start, end) != null;
+    }
+
+    private static long parseIpv4(String value, int start, int end) {
+        long address = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet < 0 ? c - '0' : octet * 10 + (c - '0');
+                if (octet > 255) {
+                    return INVALID;
+                }
+            } else if (c == '.' && octet >= 0 && octets < 3) {
+                address = (address << 8) | octet;
+                octets++;
+                octet = -1;
+            } else {
+                return INVALID;
+            }
+        }
+        if (octets != 3 || octet < 0) {
+            return INVALID;
+        }
+        return (address << 8) | octet;
+    }
+
+    private static byte[] parseIpv6(String value, int start, int end) {
+        if (end - start < 2) {
+            return null;
+        }
+        byte[] address = new byte[16];
+        int groups = 0;
+        int compressAt = -1;
+        int i = start;
+        if (value.charAt(i) == ':') {
+            if (value.charAt(i + 1) != ':') {
+                return null;
+            }
+            compressAt = 0;
+            i += 2;
+        }
+        while (i < end) {
+            if (groups == 8) {
+                return null;
+            }
+            int groupStart = i;
+            int hextet = 0;
+            int digit;
+            while (i < end && i - groupStart < 4 && (digit = hexDigit(value.charAt(i))) >= 0) {
+                hextet = hextet << 4 | digit;
+                i++;
+            }
+            if (i < end && value.charAt(i) == '.') {
+                long ipv4 = groups > 6 ? INVALID : parseIpv4(value, groupStart, end);
+                if (ipv4 == INVALID) {
+                    return null;
+                }
+                for (int shift = 24; shift >= 0; shift -= 8) {
+                    address[groups * 2 + 3 - shift / 8] = (byte) (ipv4 >>> shift);
+                }
+                groups += 2;
+                break;
+            }
+            if (i == groupStart) {
+                return null;
+            }
+            address[groups * 2] = (byte) (hextet >>> 8);
+            address[groups * 2 + 1] = (byte) hextet;
+            groups++;
+            if (i == end) {
+                break;
+            }
+            if (value.charAt(i++) != ':' || i == end) {
+                return null;
+            }
+            if (value.charAt(i) == ':') {
+                if (compressAt >= 0) {
+                    return null;
+                }
+                compressAt = groups;
+                i++;
+            }
+        }
+
+        if (compressAt >= 0) {
+            if (groups == 8) {
+                return null;
+            }
+            int moved = (groups - compressAt) * 2;
+            System.arraycopy(address, compressAt * 2, address, 16 - moved, moved);
+            Arrays.fill(address, compressAt * 2, 16 - moved, (byte) 0);
+        } else if (groups != 8) {
+            return null;
+        }
+        return isIpv4Mapped(address) ? Arrays.copyOfRange(address, 12, 16) : address;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static boolean isIpv4Mapped(byte[] address) {
+        for (int i = 0; i < 10; i++) {
+            if (address[i] != 0) {
+                return false;
+            }
+        }
+        return address[10] == (byte) 0xFF && address[11] == (byte) 0xFF;
+    }
+
+    private static int toInt(byte[] address) {
+        return (address[0] & 0xFF) << 24 | (address[1] & 0xFF) << 16 | (address[2] & 0xFF) << 8 | (address[3] & 0xFF);
+    }
+}
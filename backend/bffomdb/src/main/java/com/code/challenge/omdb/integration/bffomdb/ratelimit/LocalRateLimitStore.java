@@ -0,0 +1,103 @@
+package com.code.challenge.omdb.integration.bffomdb.ratelimit;
+
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.github.bucket4j.TokensInheritanceStrategy;
+import io.github.bucket4j.local.SynchronizationStrategy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private record Entry(Bucket bucket, Limit limit) {
+    }
+
+    private final Cache<String, Entry> buckets;
+
+    public LocalRateLimitStore(RateLimitProperties.Local local, MeterRegistry meterRegistry) {
+        this(Caffeine.newBuilder()
+                .maximumSize(local.getMaxClients())
+                .expireAfterAccess(local.getIdleExpiry())
+                .build());
+
+        Gauge.builder("ratelimit.local.buckets", buckets, Cache::estimatedSize)
+                .description("Rate limiting buckets held in memory by this replica")
+                .register(meterRegistry);
+    }
+
+    private LocalRateLimitStore(Cache<String, Entry> buckets) {
+        this.buckets = buckets;
+    }
+
+    public static LocalRateLimitStore unbounded() {
+        return new LocalRateLimitStore(Caffeine.newBuilder().build());
+    }
+
+    @Override
+    public Mono<Probe> tryConsume(String key, Limit limit, long tokens) {
+        return Mono.just(consume(key, limit, tokens));
+    }
+
+    @Override
+    public Probe consume(String key, Limit limit, long tokens) {
+        ConsumptionProbe probe = bucket(key, limit).tryConsumeAndReturnRemaining(tokens);
+        return new Probe(probe.isConsumed(), probe.getRemainingTokens(), probe.getNanosToWaitForRefill(),
+                probe.getNanosToWaitForReset());
+    }
+
+    @Override
+    public void penalize(String key, Limit limit, long tokens) {
+        bucket(key, limit).consumeIgnoringRateLimits(tokens);
+    }
+
+    @Override
+    public void refund(String key, Limit limit, long tokens) {
+        bucket(key, limit).addTokens(tokens);
+    }
+
+    private Bucket bucket(String key, Limit limit) {
+        Entry entry = buckets.getIfPresent(key);
+        if (entry == null) {
+            Entry created = createEntry(limit);
+            entry = buckets.asMap().putIfAbsent(key, created);
+            if (entry == null) {
+                log.debug("Created new rate limiting bucket for key: {}", key);
+                return created.bucket();
+            }
+        }
+        if (entry.limit().equals(limit)) {
+            return entry.bucket();
+        }
+        if (!buckets.asMap().replace(key, entry, new Entry(entry.bucket(), limit))) {
+            return bucket(key, limit);
+        }
+        entry.bucket().replaceConfiguration(configuration(limit), TokensInheritanceStrategy.ADDITIVE);
+        log.debug("Reconfigured rate limiting bucket for key: {} ({} per {})", key, limit.capacity(), limit.period());
+        return entry.bucket();
+    }
+
+    private static Entry createEntry(Limit limit) {
+        Bucket bucket = Bucket.builder()
+                .addLimit(bandwidth(limit))
+                .withSynchronizationStrategy(SynchronizationStrategy.LOCK_FREE)
+                .build();
+        return new Entry(bucket, limit);
+    }
+
+    private static BucketConfiguration configuration(Limit limit) {
+        return BucketConfiguration.builder().addLimit(bandwidth(limit)).build();
+    }
+
+    private static Bandwidth bandwidth(Limit limit) {
+        return Bandwidth.classic(limit.capacity(), Refill.intervally(limit.capacity(), limit.period()));
+    }
+}
@@ -0,0 +1,149 @@
+package com.code.challenge.omdb.integration.bffomdb.ratelimit;
+
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class RateLimitPolicies {
+
+    public static final String DEFAULT_POLICY = "default";
+
+    private static final Duration PERIOD = Duration.ofMinutes(1);
+
+    public record Client(String key, RateLimitStore.Limit limit) {
+    }
+
+    public record Route(String name, PathPattern pattern, RateLimitStore.Limit limit, long cost, long missCost) {
+    }
+
+    public record Snapshot(boolean enabled, String apiKeyHeader, RateLimitStore.Limit defaultLimit, long missCost,
+                           Map<String, Client> apiKeys, List<Route> routes) {
+    }
+
+    public record Plan(String clientKey, RateLimitStore.Limit clientLimit, String routeKey,
+                       RateLimitStore.Limit routeLimit, long cost, long missCost) {
+    }
+
+    private final Snapshot configured;
+    private volatile Snapshot snapshot;
+
+    public RateLimitPolicies(RateLimitProperties properties) {
+        this.configured = build(properties);
+        this.snapshot = configured;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public Plan plan(String path, String clientIp, String apiKey) {
+        Snapshot current = snapshot;
+        Client client = apiKey != null ? current.apiKeys().get(apiKey) : null;
+        String clientKey = client != null ? client.key() : "ip:" + clientIp;
+        RateLimitStore.Limit clientLimit = client != null ? client.limit() : current.defaultLimit();
+
+        Route route = match(current.routes(), path);
+        if (route == null) {
+            return new Plan(clientKey, clientLimit, null, null, 1, current.missCost());
+        }
+        String routeKey = route.limit() != null ? "route:" + route.name() + ':' + clientKey : null;
+        return new Plan(clientKey, clientLimit, routeKey, route.limit(), route.cost(), route.missCost());
+    }
+
+    public synchronized void update(String policy, Long requestsPerMinute, Long missCost) {
+        Snapshot current = snapshot;
+        if (DEFAULT_POLICY.equals(policy)) {
+            snapshot = new Snapshot(current.enabled(), current.apiKeyHeader(),
+                    requestsPerMinute != null ? limit(requestsPerMinute) : current.defaultLimit(),
+                    missCost != null ? missCost : current.missCost(), current.apiKeys(), current.routes());
+            log.info("Updated default rate limit policy: {}", snapshot.defaultLimit());
+            return;
+        }
+
+        List<Route> routes = new ArrayList<>(current.routes());
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            if (route.name().equals(policy)) {
+                routes.set(i, new Route(route.name(), route.pattern(),
+                        requestsPerMinute != null ? limit(requestsPerMinute) : route.limit(), route.cost(),
+                        missCost != null ? missCost : route.missCost()));
+                snapshot = new Snapshot(current.enabled(), current.apiKeyHeader(), current.defaultLimit(),
+                        current.missCost(), current.apiKeys(), List.copyOf(routes));
+                log.info("Updated rate limit policy {}: {}", policy, routes.get(i).limit());
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rate limit policy: " + policy);
+    }
+
+    public synchronized void reset() {
+        snapshot = configured;
+        log.info("Reset rate limit policies to the configured values: {} routes, {} API keys",
+                snapshot.routes().size(), snapshot.apiKeys().size());
+    }
+
+    private static Route match(List<Route> routes, String path) {
+        if (routes.isEmpty() || path == null) {
+            return null;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Route route : routes) {
+            if (route.pattern().matches(container)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static Snapshot build(RateLimitProperties properties) {
+        Map<String, Client> apiKeys = new HashMap<>();
+        properties.getApiKeys().forEach((apiKey, requestsPerMinute) ->
+                apiKeys.put(apiKey, new Client("key:" + fingerprint(apiKey), limit(requestsPerMinute))));
+
+        PathPatternParser parser = new PathPatternParser();
+        List<Route> routes = new ArrayList<>();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            String name = StringUtils.hasText(route.getName()) ? route.getName() : route.getPattern();
+            routes.add(new Route(name, parser.parse(route.getPattern()),
+                    route.getRequestsPerMinute() != null ? limit(route.getRequestsPerMinute()) : null,
+                    Math.max(0, route.getCost()),
+                    route.getMissCost() != null ? route.getMissCost() : properties.getMissCost()));
+        }
+
+        return new Snapshot(properties.isEnabled(), properties.getApiKeyHeader(),
+                limit(properties.getRequestsPerMinute()), properties.getMissCost(), Map.copyOf(apiKeys),
+                List.copyOf(routes));
+    }
+
+    private static RateLimitStore.Limit limit(long requestsPerMinute) {
+        if (requestsPerMinute <= 0) {
+            throw new IllegalArgumentException("Rate limits must be positive: " + requestsPerMinute);
+        }
+        return new RateLimitStore.Limit(requestsPerMinute, PERIOD);
+    }
+
+    private static String fingerprint(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
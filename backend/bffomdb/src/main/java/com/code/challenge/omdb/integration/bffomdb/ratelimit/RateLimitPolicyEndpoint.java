@@ -0,0 +1,58 @@
+package com.code.challenge.omdb.integration.bffomdb.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory, per-replica policy overrides; {@code reset} restores the configured values. Exposed over JMX only.
+ */
+@Component
+@Endpoint(id = "ratelimits")
+@RequiredArgsConstructor
+public class RateLimitPolicyEndpoint {
+
+    private final RateLimitPolicies policies;
+
+    @ReadOperation
+    public Map<String, Object> policies() {
+        RateLimitPolicies.Snapshot snapshot = policies.snapshot();
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (RateLimitPolicies.Route route : snapshot.routes()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("pattern", route.pattern().getPatternString());
+            details.put("requestsPerMinute", route.limit() != null ? route.limit().capacity() : null);
+            details.put("cost", route.cost());
+            details.put("missCost", route.missCost());
+            routes.put(route.name(), details);
+        }
+
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("enabled", snapshot.enabled());
+        view.put("requestsPerMinute", snapshot.defaultLimit().capacity());
+        view.put("missCost", snapshot.missCost());
+        view.put("apiKeys", snapshot.apiKeys().size());
+        view.put("routes", routes);
+        return view;
+    }
+
+    @WriteOperation
+    public Map<String, Object> update(@Selector String policy, @Nullable Long requestsPerMinute,
+                                      @Nullable Long missCost) {
+        policies.update(policy, requestsPerMinute, missCost);
+        return policies();
+    }
+
+    @WriteOperation
+    public Map<String, Object> reset() {
+        policies.reset();
+        return policies();
+    }
+}
@@ -0,0 +1,24 @@
+package com.code.challenge.omdb.integration.bffomdb.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+public interface RateLimitStore {
+
+    record Limit(long capacity, Duration period) {
+    }
+
+    record Probe(boolean consumed, long remaining, long nanosToWait, long nanosToReset) {
+    }
+
+    Mono<Probe> tryConsume(String key, Limit limit, long tokens);
+
+    default Probe consume(String key, Limit limit, long tokens) {
+        return tryConsume(key, limit, tokens).block();
+    }
+
+    void penalize(String key, Limit limit, long tokens);
+
+    void refund(String key, Limit limit, long tokens);
+}
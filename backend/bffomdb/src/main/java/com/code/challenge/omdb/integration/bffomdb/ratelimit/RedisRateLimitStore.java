@@ -0,0 +1,214 @@
+package com.code.challenge.omdb.integration.bffomdb.ratelimit;
+
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitProperties;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class RedisRateLimitStore implements RateLimitStore, DisposableBean {
+
+    private final RateLimitProperties.Redis redis;
+    private final RateLimitStore fallback;
+    private final RedisClient redisClient;
+    private final AtomicBoolean connecting = new AtomicBoolean();
+
+    private volatile StatefulRedisConnection<String, String> connection;
+    private volatile long unavailableUntil;
+
+    public RedisRateLimitStore(RateLimitProperties.Redis redis, RateLimitStore fallback, MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.fallback = fallback;
+
+        Gauge.builder("ratelimit.remote.available", this, store -> store.isAvailable() ? 1 : 0)
+                .description("Whether rate limits are shared through Redis (0 = per-replica fallback)")
+                .register(meterRegistry);
+
+        redisClient = RedisClient.create(RedisURI.create(redis.getUri()));
+        redisClient.setOptions(ClientOptions.builder()
+                .autoReconnect(true)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .timeoutOptions(TimeoutOptions.enabled(redis.getTimeout()))
+                .build());
+        connectInBackground();
+    }
+
+    @Override
+    public Mono<Probe> tryConsume(String key, Limit limit, long tokens) {
+        return tryConsume(key, limit, tokens, fallback);
+    }
+
+    @Override
+    public void penalize(String key, Limit limit, long tokens) {
+        penalize(key, limit, tokens, fallback);
+    }
+
+    @Override
+    public void refund(String key, Limit limit, long tokens) {
+        refund(key, limit, tokens, fallback);
+    }
+
+    public RateLimitStore withFallback(RateLimitStore fallback) {
+        return new RateLimitStore() {
+            @Override
+            public Mono<Probe> tryConsume(String key, Limit limit, long tokens) {
+                return RedisRateLimitStore.this.tryConsume(key, limit, tokens, fallback);
+            }
+
+            @Override
+            public void penalize(String key, Limit limit, long tokens) {
+                RedisRateLimitStore.this.penalize(key, limit, tokens, fallback);
+            }
+
+            @Override
+            public void refund(String key, Limit limit, long tokens) {
+                RedisRateLimitStore.this.refund(key, limit, tokens, fallback);
+            }
+        };
+    }
+
+    private Mono<Probe> tryConsume(String key, Limit limit, long tokens, RateLimitStore fallback) {
+        RedisReactiveCommands<String, String> commands = commands();
+        if (commands == null) {
+            return fallback.tryConsume(key, limit, tokens);
+        }
+
+        long now = System.currentTimeMillis();
+        long window = limit.period().toMillis();
+        long index = now / window;
+        double elapsed = (double) (now % window) / window;
+        String current = windowKey(key, index);
+        String previous = windowKey(key, index - 1);
+
+        return Mono.zip(commands.incrby(current, tokens), commands.get(previous).map(Long::parseLong).defaultIfEmpty(0L))
+                .map(counts -> {
+                    if (counts.getT1() == tokens) {
+                        commands.pexpire(current, window * 2).subscribe(null, this::markUnavailable);
+                    }
+                    Probe probe = evaluate(counts.getT1(), tokens, counts.getT2(), elapsed, limit);
+                    if (!probe.consumed()) {
+                        commands.decrby(current, tokens).subscribe(null, this::markUnavailable);
+                    }
+                    return probe;
+                })
+                .timeout(redis.getTimeout())
+                .onErrorResume(error -> {
+                    markUnavailable(error);
+                    return fallback.tryConsume(key, limit, tokens);
+                });
+    }
+
+    private void penalize(String key, Limit limit, long tokens, RateLimitStore fallback) {
+        RedisReactiveCommands<String, String> commands = commands();
+        if (commands == null) {
+            fallback.penalize(key, limit, tokens);
+            return;
+        }
+        long window = limit.period().toMillis();
+        String current = windowKey(key, System.currentTimeMillis() / window);
+        commands.incrby(current, tokens)
+                .flatMap(count -> count == tokens ? commands.pexpire(current, window * 2) : Mono.just(true))
+                .timeout(redis.getTimeout())
+                .subscribe(null, error -> {
+                    markUnavailable(error);
+                    fallback.penalize(key, limit, tokens);
+                });
+    }
+
+    private void refund(String key, Limit limit, long tokens, RateLimitStore fallback) {
+        RedisReactiveCommands<String, String> commands = commands();
+        if (commands == null) {
+            fallback.refund(key, limit, tokens);
+            return;
+        }
+        commands.decrby(windowKey(key, System.currentTimeMillis() / limit.period().toMillis()), tokens)
+                .timeout(redis.getTimeout())
+                .subscribe(null, error -> {
+                    markUnavailable(error);
+                    fallback.refund(key, limit, tokens);
+                });
+    }
+
+    @Override
+    public void destroy() {
+        if (connection != null) {
+            connection.close();
+        }
+        redisClient.shutdown(Duration.ZERO, redis.getTimeout());
+    }
+
+    boolean isAvailable() {
+        return connection != null && System.currentTimeMillis() >= unavailableUntil;
+    }
+
+    static Probe evaluate(long count, long tokens, long previousCount, double elapsed, Limit limit) {
+        long admitted = count - tokens;
+        long windowNanos = limit.period().toNanos();
+        long nanosToReset = (long) ((2 - elapsed) * windowNanos);
+        double weighted = previousCount * (1 - elapsed) + count;
+        if (weighted <= limit.capacity()) {
+            return new Probe(true, (long) Math.floor(limit.capacity() - weighted), 0, nanosToReset);
+        }
+
+        double waitFraction;
+        if (count <= limit.capacity()) {
+            waitFraction = 1 - (double) (limit.capacity() - count) / previousCount - elapsed;
+        } else {
+            waitFraction = 1 - elapsed + (1 - (double) (limit.capacity() - tokens) / admitted);
+        }
+        long nanosToWait = (long) (Math.max(0, waitFraction) * windowNanos);
+        return new Probe(false, 0, nanosToWait, nanosToReset);
+    }
+
+    private String windowKey(String key, long index) {
+        return redis.getKeyPrefix() + key + ':' + index;
+    }
+
+    private RedisReactiveCommands<String, String> commands() {
+        if (System.currentTimeMillis() < unavailableUntil) {
+            return null;
+        }
+        StatefulRedisConnection<String, String> current = connection;
+        if (current == null) {
+            connectInBackground();
+            return null;
+        }
+        return current.reactive();
+    }
+
+    private void connectInBackground() {
+        if (connecting.compareAndSet(false, true)) {
+            Mono.fromRunnable(this::connect)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doFinally(signal -> connecting.set(false))
+                    .subscribe(null, this::markUnavailable);
+        }
+    }
+
+    private void connect() {
+        connection = redisClient.connect();
+        unavailableUntil = 0;
+        log.info("Sharing rate limits through Redis at {}", redis.getUri());
+    }
+
+    private void markUnavailable(Throwable error) {
+        long now = System.currentTimeMillis();
+        if (now >= unavailableUntil) {
+            log.warn("Redis rate limit store unavailable, limiting per replica for {}: {}",
+                    redis.getRetryInterval(), error.getMessage());
+        }
+        unavailableUntil = now + redis.getRetryInterval().toMillis();
+    }
+}
@@ -0,0 +1,66 @@
+package com.code.challenge.omdb.integration.bffomdb.resilience;
+
+import com.code.challenge.omdb.integration.bffomdb.config.ResilienceProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long slowCallThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(ResilienceProperties.Concurrency properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.slowCallThresholdNanos = properties.getSlowCallThreshold().toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, Outcome outcome) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+
+        if (outcome == Outcome.DROPPED || (outcome == Outcome.SUCCESS && latencyNanos > slowCallThresholdNanos)) {
+            decrease();
+        } else if (outcome == Outcome.SUCCESS && inFlightBeforeRelease * 2 >= limit) {
+            increase();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void increase() {
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+    }
+
+    private synchronized void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
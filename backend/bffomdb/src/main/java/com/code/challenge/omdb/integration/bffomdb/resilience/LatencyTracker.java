@@ -0,0 +1,39 @@
+package com.code.challenge.omdb.integration.bffomdb.resilience;
+
+import java.util.Arrays;
+
+public class LatencyTracker {
+
+    private final double percentile;
+    private final int minSamples;
+    private final int recomputeEvery;
+    private final long[] samples;
+
+    private int count;
+    private int next;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    public LatencyTracker(int window, double percentile, int minSamples) {
+        this.samples = new long[Math.max(1, window)];
+        this.percentile = percentile;
+        this.minSamples = Math.max(1, Math.min(minSamples, samples.length));
+        this.recomputeEvery = Math.max(1, samples.length / 20);
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (count >= minSamples && (percentileNanos < 0 || ++sinceRecompute >= recomputeEvery)) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[Math.max(0, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    public long getPercentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,18 @@
+package com.code.challenge.omdb.integration.bffomdb.resilience;
+
+public enum OmdbEndpoint {
+
+    SEARCH("omdbSearch"),
+    DETAILS("omdbDetails"),
+    TITLE("omdbTitle");
+
+    private final String circuitBreakerName;
+
+    OmdbEndpoint(String circuitBreakerName) {
+        this.circuitBreakerName = circuitBreakerName;
+    }
+
+    public String getCircuitBreakerName() {
+        return circuitBreakerName;
+    }
+}
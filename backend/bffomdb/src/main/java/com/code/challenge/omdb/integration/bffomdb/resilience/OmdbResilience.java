@@ -0,0 +1,96 @@
+package com.code.challenge.omdb.integration.bffomdb.resilience;
+
+import com.code.challenge.omdb.integration.bffomdb.config.ResilienceProperties;
+import com.code.challenge.omdb.integration.bffomdb.exception.OmdbUnavailableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+public class OmdbResilience {
+
+    private final QuotaGovernor quotaGovernor;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RequestHedger requestHedger;
+    private final Map<OmdbEndpoint, CircuitBreaker> circuitBreakers = new EnumMap<>(OmdbEndpoint.class);
+    private final Counter rejectedCalls;
+
+    public OmdbResilience(CircuitBreakerRegistry circuitBreakerRegistry,
+                          ResilienceProperties resilienceProperties,
+                          QuotaGovernor quotaGovernor,
+                          MeterRegistry meterRegistry) {
+        this.quotaGovernor = quotaGovernor;
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(resilienceProperties.getConcurrency());
+        this.requestHedger = new RequestHedger(resilienceProperties.getHedging(), meterRegistry);
+
+        for (OmdbEndpoint endpoint : OmdbEndpoint.values()) {
+            circuitBreakers.put(endpoint, circuitBreakerRegistry.circuitBreaker(endpoint.getCircuitBreakerName()));
+        }
+
+        Gauge.builder("omdb.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit of outstanding OMDB calls")
+                .register(meterRegistry);
+        Gauge.builder("omdb.concurrency.in.flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Outstanding OMDB calls")
+                .register(meterRegistry);
+        this.rejectedCalls = Counter.builder("omdb.concurrency.rejected")
+                .description("OMDB calls rejected because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> protect(OmdbEndpoint endpoint, Mono<T> call) {
+        return requestHedger.hedge(endpoint, attempt(endpoint, call), attempt(endpoint, call)
+                .contextWrite(context -> QuotaPriority.into(context, QuotaPriority.PREFETCH)));
+    }
+
+    private <T> Mono<T> attempt(OmdbEndpoint endpoint, Mono<T> call) {
+        return admit(endpoint).then(Mono.defer(() -> {
+            if (!concurrencyLimiter.tryAcquire()) {
+                rejectedCalls.increment();
+                log.warn("OMDB concurrency limit of {} reached, rejecting {} call", concurrencyLimiter.getLimit(), endpoint);
+                return Mono.error(new OmdbUnavailableException(
+                        "OMDB concurrency limit reached (" + concurrencyLimiter.getLimit() + " outstanding calls)"));
+            }
+
+            long start = System.nanoTime();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+
+            return requestHedger.timed(endpoint, call)
+                    .transform(CircuitBreakerOperator.of(circuitBreakers.get(endpoint)))
+                    .doOnError(failure::set)
+                    .doFinally(signal -> concurrencyLimiter.release(System.nanoTime() - start, outcome(signal, failure.get())))
+                    .onErrorMap(CallNotPermittedException.class, ex -> {
+                        log.warn("OMDB {} circuit is open, failing fast", endpoint);
+                        return new OmdbUnavailableException("OMDB " + endpoint.name().toLowerCase() + " circuit is open", ex);
+                    });
+        }));
+    }
+
+    private Mono<Void> admit(OmdbEndpoint endpoint) {
+        return Mono.defer(() -> circuitBreakers.get(endpoint).getState() == CircuitBreaker.State.OPEN
+                ? Mono.empty()
+                : quotaGovernor.acquire(endpoint));
+    }
+
+    private AdaptiveConcurrencyLimiter.Outcome outcome(SignalType signal, Throwable failure) {
+        if (signal == SignalType.CANCEL || failure instanceof CallNotPermittedException) {
+            return AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+        }
+        return signal == SignalType.ON_ERROR
+                ? AdaptiveConcurrencyLimiter.Outcome.DROPPED
+                : AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+    }
+}
@@ -0,0 +1,312 @@
+package com.code.challenge.omdb.integration.bffomdb.resilience;
+
+import com.code.challenge.omdb.integration.bffomdb.client.ApiKeyPool;
+import com.code.challenge.omdb.integration.bffomdb.config.QuotaProperties;
+import com.code.challenge.omdb.integration.bffomdb.exception.OmdbUnavailableException;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.RateLimitStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class QuotaGovernor {
+
+    private static final long MIN_DRAIN_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final class Waiter {
+
+        private final QuotaPriority priority;
+        private final OmdbEndpoint endpoint;
+        private final long sequence;
+        private final MonoSink<Void> sink;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Waiter(QuotaPriority priority, OmdbEndpoint endpoint, long sequence, MonoSink<Void> sink) {
+            this.priority = priority;
+            this.endpoint = endpoint;
+            this.sequence = sequence;
+            this.sink = sink;
+        }
+    }
+
+    private final QuotaProperties properties;
+    private final RateLimitStore store;
+    private final long dailyBudget;
+    private final RateLimitStore.Limit dailyLimit;
+    private final RateLimitStore.Limit burstLimit;
+    private final Map<QuotaPriority, Counter> grantedCalls = new EnumMap<>(QuotaPriority.class);
+    private final Map<QuotaPriority, Counter> shedCalls = new EnumMap<>(QuotaPriority.class);
+    private final Counter failedOpenCalls;
+
+    private final TreeSet<Waiter> queue = new TreeSet<>(Comparator.comparing((Waiter waiter) -> waiter.priority)
+            .thenComparingLong(waiter -> waiter.sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private volatile long remaining;
+    private volatile long replenishedAt;
+
+    public QuotaGovernor(QuotaProperties properties, ApiKeyPool apiKeyPool,
+                         @Qualifier("quotaRateLimitStore") RateLimitStore store, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.dailyBudget = properties.getDailyBudget() * apiKeyPool.size();
+        this.dailyLimit = new RateLimitStore.Limit(dailyBudget, Duration.ofDays(1));
+        this.burstLimit = new RateLimitStore.Limit(properties.getBurst() * apiKeyPool.size(), properties.getBurstPeriod());
+        this.remaining = dailyBudget;
+        this.replenishedAt = System.nanoTime();
+
+        Gauge.builder("omdb.quota.remaining", this, QuotaGovernor::getRemaining)
+                .description("Estimated OMDB calls left in the daily key budget")
+                .register(meterRegistry);
+        Gauge.builder("omdb.quota.budget", this, governor -> governor.dailyBudget)
+                .description("Daily OMDB call budget across all API keys, shared by all replicas")
+                .register(meterRegistry);
+        Gauge.builder("omdb.quota.queued", this, QuotaGovernor::getQueued)
+                .description("OMDB calls waiting for a quota token")
+                .register(meterRegistry);
+        Gauge.builder("omdb.quota.cache.only", this, governor -> governor.isCacheOnly() ? 1 : 0)
+                .description("Whether the daily budget is low enough to serve from cache only")
+                .register(meterRegistry);
+        for (QuotaPriority priority : QuotaPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            grantedCalls.put(priority, Counter.builder("omdb.quota.granted")
+                    .description("OMDB calls admitted by the quota governor")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+            shedCalls.put(priority, Counter.builder("omdb.quota.shed")
+                    .description("OMDB calls shed by the quota governor")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+        this.failedOpenCalls = Counter.builder("omdb.quota.fail.open")
+                .description("OMDB calls admitted without a quota token because the quota store failed")
+                .register(meterRegistry);
+    }
+
+    public Mono<Void> acquire(OmdbEndpoint endpoint) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.deferContextual(context -> {
+            QuotaPriority priority = QuotaPriority.from(context);
+            String refusal = refusal(priority);
+            if (refusal != null) {
+                return shed(priority, endpoint, refusal);
+            }
+            if (getQueued() > 0) {
+                return enqueue(priority, endpoint, 0);
+            }
+            return consume()
+                    .onErrorResume(error -> {
+                        failOpen(endpoint, error);
+                        return Mono.empty();
+                    })
+                    .flatMap(probe -> {
+                        if (probe.consumed()) {
+                            grantedCalls.get(priority).increment();
+                            return Mono.empty();
+                        }
+                        return enqueue(priority, endpoint, probe.nanosToWait());
+                    });
+        });
+    }
+
+    public boolean isCacheOnly() {
+        return properties.isEnabled() && getRemaining() <= dailyBudget * properties.getCacheOnlyBelow();
+    }
+
+    public long getRemaining() {
+        return System.nanoTime() - replenishedAt >= 0 ? dailyBudget : remaining;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    private String refusal(QuotaPriority priority) {
+        if (isCacheOnly()) {
+            return "daily budget nearly exhausted, serving from cache only";
+        }
+        double reserve = properties.getPriority(priority).getReserve();
+        if (reserve > 0 && getRemaining() <= dailyBudget * reserve) {
+            return "remaining budget is reserved for higher priority calls";
+        }
+        return null;
+    }
+
+    private Mono<RateLimitStore.Probe> consume() {
+        return store.tryConsume(properties.getKey() + ":burst", burstLimit, 1)
+                .flatMap(burst -> burst.consumed()
+                        ? store.tryConsume(properties.getKey() + ":daily", dailyLimit, 1)
+                                .doOnNext(this::track)
+                                .doOnNext(daily -> {
+                                    if (!daily.consumed()) {
+                                        store.refund(properties.getKey() + ":burst", burstLimit, 1);
+                                    }
+                                })
+                        : Mono.just(burst));
+    }
+
+    private void refund() {
+        store.refund(properties.getKey() + ":burst", burstLimit, 1);
+        store.refund(properties.getKey() + ":daily", dailyLimit, 1);
+        remaining = Math.min(dailyBudget, remaining + 1);
+    }
+
+    private void track(RateLimitStore.Probe daily) {
+        remaining = daily.remaining();
+        replenishedAt = System.nanoTime() + daily.nanosToReset();
+    }
+
+    private Mono<Void> enqueue(QuotaPriority priority, OmdbEndpoint endpoint, long nanosToWait) {
+        Duration maxWait = properties.getPriority(priority).getMaxWait();
+        if (nanosToWait > maxWait.toNanos()) {
+            return shed(priority, endpoint, "no quota token within " + maxWait.toMillis() + "ms");
+        }
+        return Mono.<Void>create(sink -> {
+                    Waiter waiter = new Waiter(priority, endpoint, sequence.incrementAndGet(), sink);
+                    Waiter evicted = offer(waiter);
+                    if (evicted == waiter) {
+                        shed(waiter, "quota queue is full");
+                        return;
+                    }
+                    if (evicted != null) {
+                        shed(evicted, "evicted by a higher priority call");
+                    }
+                    sink.onDispose(() -> cancel(waiter));
+                    scheduleDrain(nanosToWait);
+                })
+                .timeout(maxWait, Mono.defer(() -> shed(priority, endpoint, "deadline of " + maxWait.toMillis() + "ms passed")));
+    }
+
+    private synchronized Waiter offer(Waiter waiter) {
+        if (queue.size() < properties.getMaxQueueSize()) {
+            queue.add(waiter);
+            return null;
+        }
+        Waiter last = queue.last();
+        if (queue.comparator().compare(waiter, last) > 0) {
+            return waiter;
+        }
+        queue.remove(last);
+        queue.add(waiter);
+        return last;
+    }
+
+    private synchronized Waiter poll() {
+        return queue.pollFirst();
+    }
+
+    private synchronized void requeue(Waiter waiter) {
+        queue.add(waiter);
+    }
+
+    private synchronized void cancel(Waiter waiter) {
+        if (settle(waiter)) {
+            queue.remove(waiter);
+        }
+    }
+
+    private static boolean settle(Waiter waiter) {
+        return waiter.settled.compareAndSet(false, true);
+    }
+
+    private void grant(Waiter waiter) {
+        Waiter next = waiter;
+        while (next != null && !settle(next)) {
+            next = poll();
+        }
+        if (next == null) {
+            refund();
+            return;
+        }
+        grantedCalls.get(next.priority).increment();
+        next.sink.success();
+    }
+
+    private void scheduleDrain(long nanosToWait) {
+        Schedulers.parallel().schedule(this::drain, Math.max(MIN_DRAIN_DELAY_NANOS, nanosToWait), TimeUnit.NANOSECONDS);
+    }
+
+    private void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        Waiter next = poll();
+        while (next != null && next.settled.get()) {
+            next = poll();
+        }
+        if (next == null) {
+            draining.set(false);
+            if (getQueued() > 0) {
+                drain();
+            }
+            return;
+        }
+
+        Waiter waiter = next;
+        String refusal = refusal(waiter.priority);
+        if (refusal != null) {
+            shed(waiter, refusal);
+            draining.set(false);
+            drain();
+            return;
+        }
+        consume().subscribe(probe -> {
+            if (probe.consumed()) {
+                grant(waiter);
+                draining.set(false);
+                drain();
+            } else {
+                requeue(waiter);
+                draining.set(false);
+                scheduleDrain(probe.nanosToWait());
+            }
+        }, error -> {
+            if (settle(waiter)) {
+                failOpen(waiter.endpoint, error);
+                waiter.sink.success();
+            }
+            draining.set(false);
+            drain();
+        });
+    }
+
+    private void failOpen(OmdbEndpoint endpoint, Throwable error) {
+        failedOpenCalls.increment();
+        log.warn("OMDB quota check failed, admitting {} call without a token: {}", endpoint, error.getMessage());
+    }
+
+    private Mono<Void> shed(QuotaPriority priority, OmdbEndpoint endpoint, String reason) {
+        return Mono.error(shedError(priority, endpoint, reason));
+    }
+
+    private void shed(Waiter waiter, String reason) {
+        if (settle(waiter)) {
+            waiter.sink.error(shedError(waiter.priority, waiter.endpoint, reason));
+        }
+    }
+
+    private OmdbUnavailableException shedError(QuotaPriority priority, OmdbEndpoint endpoint, String reason) {
+        shedCalls.get(priority).increment();
+        log.debug("Shedding {} OMDB {} call: {}", priority, endpoint, reason);
+        return new OmdbUnavailableException("OMDB quota: " + reason);
+    }
+}
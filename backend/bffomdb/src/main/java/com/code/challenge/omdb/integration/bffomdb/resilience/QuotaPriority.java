@@ -0,0 +1,17 @@
+package com.code.challenge.omdb.integration.bffomdb.resilience;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+public enum QuotaPriority {
+
+    INTERACTIVE, PREFETCH, BACKGROUND;
+
+    public static Context into(Context context, QuotaPriority priority) {
+        return context.put(QuotaPriority.class, priority);
+    }
+
+    static QuotaPriority from(ContextView context) {
+        return context.getOrDefault(QuotaPriority.class, INTERACTIVE);
+    }
+}
@@ -0,0 +1,195 @@
+package com.code.challenge.omdb.integration.bffomdb.resilience;
+
+import com.code.challenge.omdb.integration.bffomdb.config.ResilienceProperties;
+import com.code.challenge.omdb.integration.bffomdb.exception.OmdbUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+public class RequestHedger {
+
+    private record Meters(LatencyTracker latency, Counter calls, Counter sent, Counter wins, Counter denied) {
+    }
+
+    private record Admitted(Runnable onAdmitted) {
+    }
+
+    private final ResilienceProperties.Hedging properties;
+    private final Map<OmdbEndpoint, Meters> meters = new EnumMap<>(OmdbEndpoint.class);
+
+    private double tokens;
+
+    public RequestHedger(ResilienceProperties.Hedging properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tokens = properties.getMaxBurst();
+
+        for (OmdbEndpoint endpoint : OmdbEndpoint.values()) {
+            String tag = endpoint.name().toLowerCase();
+            LatencyTracker latency = new LatencyTracker(properties.getWindow(), properties.getPercentile(),
+                    properties.getMinSamples());
+            meters.put(endpoint, new Meters(latency,
+                    counter("omdb.hedge.calls", "OMDB calls eligible for hedging", tag, meterRegistry),
+                    counter("omdb.hedge.sent", "Hedged second attempts sent to OMDB", tag, meterRegistry),
+                    counter("omdb.hedge.wins", "Hedged attempts that answered before the first attempt", tag, meterRegistry),
+                    counter("omdb.hedge.denied", "Hedges skipped because the hedge budget was spent", tag, meterRegistry)));
+            Gauge.builder("omdb.hedge.delay", latency, tracker -> Math.max(0, tracker.getPercentileNanos()) / 1_000_000.0)
+                    .description("Tracked OMDB call latency percentile after admission after which a second attempt "
+                            + "is sent, in milliseconds")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> Mono<T> hedge(OmdbEndpoint endpoint, Mono<T> primary, Mono<T> backup) {
+        if (!properties.isEnabled()) {
+            return primary;
+        }
+        Meters endpointMeters = meters.get(endpoint);
+        return Mono.create(sink -> {
+            endpointMeters.calls().increment();
+            deposit();
+
+            Race<T> race = new Race<>(endpoint, endpointMeters, sink, Context.of(sink.contextView()));
+            sink.onDispose(race.attempts);
+            AtomicBoolean admitted = new AtomicBoolean();
+            Admitted onAdmitted = new Admitted(() -> {
+                if (admitted.compareAndSet(false, true)) {
+                    race.scheduleHedge(backup);
+                }
+            });
+            race.attempts.add(primary.contextWrite(race.context.put(Admitted.class, onAdmitted)).subscribe(
+                    race::success,
+                    error -> {
+                        race.primaryError.set(error);
+                        race.failed(error);
+                    },
+                    race::completed));
+        });
+    }
+
+    public <T> Mono<T> timed(OmdbEndpoint endpoint, Mono<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        LatencyTracker latency = meters.get(endpoint).latency();
+        return Mono.deferContextual(context -> {
+            context.<Admitted>getOrEmpty(Admitted.class).ifPresent(admitted -> admitted.onAdmitted().run());
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(value -> latency.record(System.nanoTime() - start))
+                    .doOnError(error -> {
+                        if (!(error instanceof OmdbUnavailableException)) {
+                            latency.record(System.nanoTime() - start);
+                        }
+                    });
+        });
+    }
+
+    private long delayNanos(LatencyTracker latency) {
+        long percentileNanos = latency.getPercentileNanos();
+        return percentileNanos < 0 ? -1 : Math.max(properties.getMinDelay().toNanos(), percentileNanos);
+    }
+
+    private final class Race<T> {
+
+        private final OmdbEndpoint endpoint;
+        private final Meters meters;
+        private final MonoSink<T> sink;
+        private final Context context;
+        private final Disposable.Composite attempts = Disposables.composite();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final AtomicReference<Throwable> primaryError = new AtomicReference<>();
+
+        private Race(OmdbEndpoint endpoint, Meters meters, MonoSink<T> sink, Context context) {
+            this.endpoint = endpoint;
+            this.meters = meters;
+            this.sink = sink;
+            this.context = context;
+        }
+
+        private void scheduleHedge(Mono<T> backup) {
+            long delay = delayNanos(meters.latency());
+            if (delay < 0) {
+                return;
+            }
+            attempts.add(Mono.delay(Duration.ofNanos(delay)).subscribe(tick -> {
+                if (done.get() || pending.get() == 0) {
+                    return;
+                }
+                if (!withdraw()) {
+                    meters.denied().increment();
+                    return;
+                }
+                meters.sent().increment();
+                pending.incrementAndGet();
+                log.debug("OMDB {} call exceeded {}ms, sending a hedged attempt", endpoint,
+                        TimeUnit.NANOSECONDS.toMillis(delay));
+                attempts.add(backup.contextWrite(context).subscribe(
+                        value -> {
+                            if (done.compareAndSet(false, true)) {
+                                meters.wins().increment();
+                                sink.success(value);
+                            }
+                        },
+                        error -> {
+                            Throwable first = primaryError.get();
+                            failed(first != null ? first : error);
+                        },
+                        this::completed));
+            }));
+        }
+
+        private void success(T value) {
+            if (done.compareAndSet(false, true)) {
+                sink.success(value);
+            }
+        }
+
+        private void failed(Throwable error) {
+            if (pending.decrementAndGet() == 0 && done.compareAndSet(false, true)) {
+                sink.error(error);
+            }
+        }
+
+        private void completed() {
+            if (pending.decrementAndGet() == 0 && done.compareAndSet(false, true)) {
+                sink.success();
+            }
+        }
+    }
+
+    private synchronized void deposit() {
+        tokens = Math.min(properties.getMaxBurst(), tokens + properties.getBudget());
+    }
+
+    private synchronized boolean withdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private static Counter counter(String name, String description, String endpoint, MeterRegistry meterRegistry) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,335 @@
+package com.code.challenge.omdb.integration.bffomdb.search;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.SearchKey;
+import com.code.challenge.omdb.integration.bffomdb.config.SearchIndexProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchResponse;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class MovieIndex {
+
+    public static final int PAGE_SIZE = 10;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double PEOPLE_WEIGHT = 2.0;
+    private static final double TEXT_WEIGHT = 1.0;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public record Page(List<MovieSummary> hits, int total) {
+
+        public boolean isFull() {
+            return hits.size() == PAGE_SIZE;
+        }
+
+        public MovieSearchResponse toResponse() {
+            MovieSearchResponse response = new MovieSearchResponse();
+            response.setSearch(hits);
+            response.setTotalResults(String.valueOf(total));
+            if (hits.isEmpty()) {
+                response.setResponse("False");
+                response.setError("Movie not found!");
+            } else {
+                response.setResponse("True");
+            }
+            return response;
+        }
+    }
+
+    private record Document(MovieSummary summary, Map<String, Double> terms, double length, boolean detailed) {
+    }
+
+    private record Hit(Document document, double score) {
+    }
+
+    private final SearchIndexProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Document> documents = new LinkedHashMap<>();
+    private final NavigableMap<String, Map<String, Double>> postings = new TreeMap<>();
+    private double totalLength;
+
+    public MovieIndex(SearchIndexProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        Gauge.builder("search.index.documents", this, MovieIndex::size)
+                .description("Movies held in the local full-text index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.terms", this, MovieIndex::terms)
+                .description("Distinct terms in the local full-text index")
+                .register(meterRegistry);
+    }
+
+    public void add(MovieDetails details) {
+        if (!properties.isEnabled() || details == null || !details.isSuccess() || details.getImdbId() == null) {
+            return;
+        }
+        Document existing = find(details.getImdbId());
+        if (existing != null && existing.detailed()) {
+            return;
+        }
+
+        Map<String, Double> terms = new HashMap<>();
+        addTerms(terms, details.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, details.getYear(), TEXT_WEIGHT);
+        addTerms(terms, details.getDirector(), PEOPLE_WEIGHT);
+        addTerms(terms, details.getActors(), PEOPLE_WEIGHT);
+        addTerms(terms, details.getWriter(), TEXT_WEIGHT);
+        addTerms(terms, details.getGenre(), TEXT_WEIGHT);
+        addTerms(terms, details.getPlot(), TEXT_WEIGHT);
+        put(details.getImdbId(), new Document(toSummary(details), terms, length(terms), true));
+    }
+
+    public void addAll(Collection<MovieSummary> summaries) {
+        if (!properties.isEnabled() || summaries == null) {
+            return;
+        }
+        for (MovieSummary summary : summaries) {
+            if (summary.getImdbId() == null || find(summary.getImdbId()) != null) {
+                continue;
+            }
+            Map<String, Double> terms = new HashMap<>();
+            addTerms(terms, summary.getTitle(), TITLE_WEIGHT);
+            addTerms(terms, summary.getYear(), TEXT_WEIGHT);
+            put(summary.getImdbId(), new Document(toSummary(summary), terms, length(terms), false));
+        }
+    }
+
+    public Page search(SearchKey key) {
+        List<String> queryTerms = tokenize(key.query());
+        if (!properties.isEnabled() || queryTerms.isEmpty()) {
+            return new Page(Collections.emptyList(), 0);
+        }
+
+        List<Hit> hits;
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            hits = score(queryTerms, key);
+        } finally {
+            readLock.unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(hit -> hit.document().summary().getImdbId()));
+        int from = Math.min((key.page() - 1) * PAGE_SIZE, hits.size());
+        int to = Math.min(from + PAGE_SIZE, hits.size());
+        List<MovieSummary> page = hits.subList(from, to).stream()
+                .map(hit -> toSummary(hit.document().summary()))
+                .toList();
+        return new Page(page, hits.size());
+    }
+
+    public int size() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return documents.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private int terms() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return postings.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private List<Hit> score(List<String> queryTerms, SearchKey key) {
+        if (documents.isEmpty()) {
+            return new ArrayList<>();
+        }
+        double averageLength = totalLength / documents.size();
+
+        Map<String, Double> scores = null;
+        for (String term : queryTerms) {
+            Map<String, Double> termScores = scoreTerm(term, averageLength);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((imdbId, score) -> score + termScores.get(imdbId));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((imdbId, score) -> {
+            Document document = documents.get(imdbId);
+            if (matches(document.summary(), key)) {
+                hits.add(new Hit(document, score));
+            }
+        });
+        return hits;
+    }
+
+    private Map<String, Double> scoreTerm(String term, double averageLength) {
+        Map<String, Double> scores = new HashMap<>();
+        Map<String, Double> exact = postings.get(term);
+        if (exact != null) {
+            accumulate(scores, exact, averageLength, 1.0);
+        }
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            int expansions = 0;
+            for (Map.Entry<String, Map<String, Double>> entry
+                    : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > properties.getMaxPrefixExpansions()) {
+                    break;
+                }
+                accumulate(scores, entry.getValue(), averageLength, PREFIX_WEIGHT);
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<String, Double> scores, Map<String, Double> posting, double averageLength,
+                            double weight) {
+        int documentCount = documents.size();
+        double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+        posting.forEach((imdbId, frequency) -> {
+            double length = documents.get(imdbId).length();
+            double norm = K1 * (1 - B + B * length / averageLength);
+            double score = weight * idf * frequency * (K1 + 1) / (frequency + norm);
+            scores.merge(imdbId, score, Math::max);
+        });
+    }
+
+    private static boolean matches(MovieSummary summary, SearchKey key) {
+        if (summary.getType() != null && !summary.getType().equalsIgnoreCase(key.type())) {
+            return false;
+        }
+        return key.year() == null
+                || (summary.getYear() != null && summary.getYear().startsWith(String.valueOf(key.year())));
+    }
+
+    private Document find(String imdbId) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return documents.get(imdbId);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void put(String imdbId, Document document) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Document existing = documents.get(imdbId);
+            if (existing != null) {
+                if (existing.detailed() && !document.detailed()) {
+                    return;
+                }
+                remove(imdbId);
+            }
+            documents.put(imdbId, document);
+            totalLength += document.length();
+            document.terms().forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(imdbId, frequency));
+
+            while (documents.size() > properties.getMaxDocuments()) {
+                remove(documents.keySet().iterator().next());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Indexed {} ({})", imdbId, document.detailed() ? "details" : "summary");
+    }
+
+    private void remove(String imdbId) {
+        Document document = documents.remove(imdbId);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length();
+        document.terms().keySet().forEach(term -> {
+            Map<String, Double> posting = postings.get(term);
+            posting.remove(imdbId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+
+    private static void addTerms(Map<String, Double> terms, String text, double weight) {
+        if (text == null || "N/A".equals(text)) {
+            return;
+        }
+        tokenize(text).forEach(term -> terms.merge(term, weight, Double::sum));
+    }
+
+    private static double length(Map<String, Double> terms) {
+        return terms.values().stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static MovieSummary toSummary(MovieDetails details) {
+        MovieSummary summary = new MovieSummary();
+        summary.setTitle(details.getTitle());
+        summary.setYear(details.getYear());
+        summary.setImdbId(details.getImdbId());
+        summary.setType(details.getType());
+        summary.setPoster(details.getPoster());
+        return summary;
+    }
+
+    private static MovieSummary toSummary(MovieSummary source) {
+        MovieSummary summary = new MovieSummary();
+        summary.setTitle(source.getTitle());
+        summary.setYear(source.getYear());
+        summary.setImdbId(source.getImdbId());
+        summary.setType(source.getType());
+        summary.setPoster(source.getPoster());
+        return summary;
+    }
+}
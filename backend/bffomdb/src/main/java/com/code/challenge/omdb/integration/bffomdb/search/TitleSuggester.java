@@ -0,0 +1,278 @@
+package com.code.challenge.omdb.integration.bffomdb.search;
+
+import com.code.challenge.omdb.integration.bffomdb.config.SuggestProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSuggestion;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class TitleSuggester implements DisposableBean {
+
+    private static final class Candidate {
+
+        private final String title;
+        private final String year;
+        private final String imdbId;
+        private final LongAdder hits = new LongAdder();
+        private volatile long lastSeen;
+
+        private Candidate(String title, String year, String imdbId) {
+            this.title = title;
+            this.year = year;
+            this.imdbId = imdbId;
+        }
+    }
+
+    private record Snapshot(String[] keys, int[] ranks, String[] titles, String[] years, String[] imdbIds,
+                            Map<String, int[]> crowded) {
+
+        private static final Snapshot EMPTY = new Snapshot(new String[0], new int[0], new String[0], new String[0],
+                new String[0], Collections.emptyMap());
+
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private final SuggestProperties properties;
+    private final Timer lookupTimer;
+
+    private final Map<String, Candidate> candidates = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean dirty;
+    private volatile Disposable schedule;
+
+    public TitleSuggester(SuggestProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.lookupTimer = Timer.builder("search.suggest.latency")
+                .description("Time spent answering a title suggestion lookup")
+                .register(meterRegistry);
+
+        Gauge.builder("search.suggest.titles", this, suggester -> suggester.snapshot.titles().length)
+                .description("Titles in the current suggestion snapshot")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        schedule = Flux.interval(properties.getRebuildInterval(), properties.getRebuildInterval())
+                .onBackpressureDrop()
+                .filter(tick -> dirty)
+                .subscribe(tick -> rebuild(), error -> log.warn("Title suggestion rebuilds stopped: {}", error.getMessage()));
+    }
+
+    @Override
+    public void destroy() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    public void record(MovieDetails details) {
+        if (details != null && details.isSuccess()) {
+            record(details.getTitle(), details.getYear(), details.getImdbId());
+        }
+    }
+
+    public void recordAll(Collection<MovieSummary> summaries) {
+        if (summaries != null) {
+            summaries.forEach(summary -> record(summary.getTitle(), summary.getYear(), summary.getImdbId()));
+        }
+    }
+
+    public List<MovieSuggestion> suggest(String prefix, int limit) {
+        if (!properties.isEnabled()) {
+            return Collections.emptyList();
+        }
+        return lookupTimer.record(() -> lookup(snapshot, String.join(" ", MovieIndex.tokenize(prefix)),
+                Math.max(1, Math.min(limit, properties.getMaxLimit()))));
+    }
+
+    public void rebuild() {
+        dirty = false;
+        long now = System.currentTimeMillis();
+        double halfLifeMillis = Math.max(1, properties.getHalfLife().toMillis());
+
+        List<Candidate> ranked = new ArrayList<>(candidates.values());
+        Map<Candidate, Double> scored = new IdentityHashMap<>(ranked.size());
+        for (Candidate candidate : ranked) {
+            double decay = Math.pow(0.5, (now - candidate.lastSeen) / halfLifeMillis);
+            scored.put(candidate, candidate.hits.sum() * decay);
+        }
+        ranked.sort(Comparator.comparingDouble((Candidate candidate) -> scored.get(candidate)).reversed()
+                .thenComparing(candidate -> candidate.imdbId));
+
+        if (ranked.size() >= properties.getMaxTitles()) {
+            int retained = properties.getMaxTitles() * 9 / 10;
+            ranked.subList(retained, ranked.size()).forEach(candidate -> candidates.remove(candidate.imdbId));
+            ranked = new ArrayList<>(ranked.subList(0, retained));
+        }
+
+        snapshot = build(ranked, properties.getMaxScan(), properties.getMaxLimit());
+        log.debug("Rebuilt title suggestions: {} titles, {} keys, {} crowded prefixes", ranked.size(),
+                snapshot.keys().length, snapshot.crowded().size());
+    }
+
+    private void record(String title, String year, String imdbId) {
+        if (!properties.isEnabled() || title == null || imdbId == null) {
+            return;
+        }
+        Candidate candidate = candidates.get(imdbId);
+        if (candidate == null) {
+            if (candidates.size() >= properties.getMaxTitles()) {
+                return;
+            }
+            candidate = candidates.computeIfAbsent(imdbId, id -> new Candidate(title, year, id));
+        }
+        candidate.hits.increment();
+        candidate.lastSeen = System.currentTimeMillis();
+        dirty = true;
+    }
+
+    private List<MovieSuggestion> lookup(Snapshot current, String prefix, int limit) {
+        if (prefix.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int[] best = current.crowded().get(prefix);
+        int found;
+        if (best != null) {
+            found = Math.min(limit, best.length);
+        } else {
+            best = new int[limit];
+            found = 0;
+            int start = current.lowerBound(prefix);
+            int end = Math.min(current.keys().length, start + properties.getMaxScan());
+            for (int i = start; i < end && current.keys()[i].startsWith(prefix); i++) {
+                found = insert(best, found, current.ranks()[i]);
+            }
+        }
+
+        List<MovieSuggestion> suggestions = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            int rank = best[i];
+            suggestions.add(MovieSuggestion.of(current.titles()[rank], current.years()[rank], current.imdbIds()[rank]));
+        }
+        return suggestions;
+    }
+
+    private static int insert(int[] best, int found, int rank) {
+        int limit = best.length;
+        if (found == limit && rank >= best[found - 1]) {
+            return found;
+        }
+        int position = Arrays.binarySearch(best, 0, found, rank);
+        if (position >= 0) {
+            return found;
+        }
+        position = -position - 1;
+        int moved = Math.min(found, limit - 1) - position;
+        System.arraycopy(best, position, best, position + 1, moved);
+        best[position] = rank;
+        return Math.min(found + 1, limit);
+    }
+
+    private static Map<String, int[]> crowdedPrefixes(String[] keys, int[] ranks, int maxScan, int maxLimit) {
+        Map<String, int[]> crowded = new HashMap<>();
+        List<int[]> ranges = List.of(new int[]{0, keys.length});
+        for (int length = 1; !ranges.isEmpty(); length++) {
+            List<int[]> narrower = new ArrayList<>();
+            for (int[] range : ranges) {
+                int start = range[0];
+                while (start < range[1]) {
+                    if (keys[start].length() < length) {
+                        start++;
+                        continue;
+                    }
+                    String prefix = keys[start].substring(0, length);
+                    int end = start + 1;
+                    while (end < range[1] && keys[end].startsWith(prefix)) {
+                        end++;
+                    }
+                    if (end - start > maxScan) {
+                        int[] best = new int[maxLimit];
+                        int found = 0;
+                        for (int i = start; i < end; i++) {
+                            found = insert(best, found, ranks[i]);
+                        }
+                        crowded.put(prefix, Arrays.copyOf(best, found));
+                        narrower.add(new int[]{start, end});
+                    }
+                    start = end;
+                }
+            }
+            ranges = narrower;
+        }
+        return crowded;
+    }
+
+    private static Snapshot build(List<Candidate> ranked, int maxScan, int maxLimit) {
+        String[] titles = new String[ranked.size()];
+        String[] years = new String[ranked.size()];
+        String[] imdbIds = new String[ranked.size()];
+        List<String> keys = new ArrayList<>();
+        List<Integer> ranks = new ArrayList<>();
+
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            Candidate candidate = ranked.get(rank);
+            titles[rank] = candidate.title;
+            years[rank] = candidate.year;
+            imdbIds[rank] = candidate.imdbId;
+
+            List<String> tokens = MovieIndex.tokenize(candidate.title);
+            for (int start = 0; start < tokens.size(); start++) {
+                keys.add(String.join(" ", tokens.subList(start, tokens.size())));
+                ranks.add(rank);
+            }
+        }
+
+        Integer[] order = new Integer[keys.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing((Integer i) -> keys.get(i)).thenComparingInt(i -> ranks.get(i)));
+
+        String[] sortedKeys = new String[order.length];
+        int[] sortedRanks = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = keys.get(order[i]);
+            sortedRanks[i] = ranks.get(order[i]);
+        }
+        return new Snapshot(sortedKeys, sortedRanks, titles, years, imdbIds,
+                crowdedPrefixes(sortedKeys, sortedRanks, maxScan, maxLimit));
+    }
+}
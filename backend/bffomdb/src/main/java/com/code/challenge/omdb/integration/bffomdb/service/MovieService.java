@@ -1,20 +1,49 @@
 package com.code.challenge.omdb.integration.bffomdb.service;
 
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheNames;
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheStatus;
+import com.code.challenge.omdb.integration.bffomdb.cache.ResponseCache;
+import com.code.challenge.omdb.integration.bffomdb.cache.SearchKey;
 import com.code.challenge.omdb.integration.bffomdb.client.OmdbApiClient;
+import com.code.challenge.omdb.integration.bffomdb.config.FanOutProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieAggregateSearchRequest;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieAggregateSearchResponse;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieBatchItem;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieFacts;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchEvent;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchRequest;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchResponse;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSuggestion;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieSummary;
 import com.code.challenge.omdb.integration.bffomdb.exception.OmdbApiException;
+import com.code.challenge.omdb.integration.bffomdb.exception.OmdbUnavailableException;
+import com.code.challenge.omdb.integration.bffomdb.resilience.QuotaPriority;
+import com.code.challenge.omdb.integration.bffomdb.search.MovieIndex;
+import com.code.challenge.omdb.integration.bffomdb.search.TitleSuggester;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -22,61 +51,288 @@ import java.util.stream.Collectors;
 public class MovieService {
     
     private final OmdbApiClient omdbApiClient;
+    private final ResponseCache responseCache;
+    private final FanOutProperties fanOutProperties;
+    private final MovieIndex movieIndex;
+    private final TitleSuggester titleSuggester;
+    private final MeterRegistry meterRegistry;
 
-    @Cacheable(value = "movieSearch", key = "#request.query + '_' + #request.page + '_' + #request.type + '_' + #request.year")
     public Mono<MovieSearchResponse> searchMovies(MovieSearchRequest request) {
+        return searchMovies(SearchKey.of(request));
+    }
+
+    public Mono<MovieSearchResponse> searchMovies(SearchKey key) {
+        return responseCache.get(CacheNames.MOVIE_SEARCH, key, MovieSearchResponse::isSuccess, () -> fetchSearch(key))
+                .doOnNext(response -> remember(response.getSearch()));
+    }
+
+    public Mono<MovieSearchResponse> searchLocally(SearchKey key) {
+        return Mono.fromSupplier(() -> movieIndex.search(key).toResponse());
+    }
+
+    public Mono<MovieSearchResponse> searchHybrid(SearchKey key) {
+        return Mono.defer(() -> {
+            MovieIndex.Page local = movieIndex.search(key);
+            if (local.isFull()) {
+                return Mono.just(local.toResponse());
+            }
+            return searchMovies(key)
+                    .map(remote -> mergeResults(local, remote))
+                    .onErrorResume(error -> {
+                        if (local.hits().isEmpty()) {
+                            return Mono.error(error);
+                        }
+                        log.warn("OMDB search failed for '{}', serving {} local results: {}",
+                                key.query(), local.hits().size(), error.getMessage());
+                        return Mono.just(local.toResponse());
+                    });
+        });
+    }
+
+    public List<MovieSuggestion> suggestTitles(String prefix, int limit) {
+        return titleSuggester.suggest(prefix, limit);
+    }
+
+    public Mono<MovieDetails> getMovieDetails(String imdbId) {
+        return responseCache.get(CacheNames.MOVIE_DETAILS, imdbId, MovieDetails::isSuccess, () -> fetchMovieDetails(imdbId))
+                .doOnNext(this::remember);
+    }
+
+    public Flux<MovieBatchItem> getMovieDetailsBatch(List<String> imdbIds) {
+        Set<String> distinctIds = new LinkedHashSet<>(imdbIds);
+        return responseCache.prefetch(CacheNames.MOVIE_DETAILS, distinctIds)
+                .thenMany(Flux.fromIterable(distinctIds))
+                .flatMap(this::getBatchItem, fanOutProperties.getBatch().getConcurrency());
+    }
+
+    public Mono<MovieDetails> getMovieByTitle(String title, Integer year) {
+        return responseCache.get(CacheNames.MOVIE_DETAILS, title + '_' + year, MovieDetails::isSuccess,
+                () -> fetchMovieByTitle(title, year))
+                .doOnNext(this::remember);
+    }
+
+    public Mono<List<MovieSummary>> getPopularMovies() {
+        return responseCache.<List<MovieSummary>>get(CacheNames.POPULAR_MOVIES, "popular", this::fetchPopularMovies)
+                .doOnNext(this::remember)
+                .onErrorReturn(Collections.<MovieSummary>emptyList());
+    }
+
+    private void remember(List<MovieSummary> summaries) {
+        movieIndex.addAll(summaries);
+        titleSuggester.recordAll(summaries);
+    }
+
+    private void remember(MovieDetails details) {
+        movieIndex.add(details);
+        titleSuggester.record(details);
+    }
+
+    private MovieSearchResponse mergeResults(MovieIndex.Page local, MovieSearchResponse remote) {
+        if (!remote.isSuccess()) {
+            return local.hits().isEmpty() ? remote : local.toResponse();
+        }
+        Map<String, MovieSummary> merged = new LinkedHashMap<>();
+        Stream.concat(local.hits().stream(), remote.getSearch().stream())
+                .forEach(summary -> merged.putIfAbsent(summary.getImdbId(), summary));
+        MovieSearchResponse response = remote.withSearch(merged.values().stream().limit(MovieIndex.PAGE_SIZE).toList());
+        response.setTotalResults(String.valueOf(Math.max(remote.getTotalResultsAsInt(), local.total())));
+        return response;
+    }
+
+    public Mono<MovieAggregateSearchResponse> searchAggregated(MovieAggregateSearchRequest request) {
+        int pages = Math.min(request.getPages(), fanOutProperties.getAggregate().getMaxPages());
+        int offset = decodeCursor(request.getCursor());
+
+        return Flux.range(1, pages)
+                .flatMapSequential(page -> searchMovies(SearchKey.of(request.getQuery(), page, request.getType(), request.getYear()))
+                        .map(Optional::of)
+                        .onErrorResume(error -> {
+                            log.warn("Aggregated search page {} for '{}' failed: {}", page, request.getQuery(), error.getMessage());
+                            return Mono.just(Optional.empty());
+                        }), pages)
+                .contextWrite(context -> context.delete(CacheStatus.class))
+                .collectList()
+                .flatMap(results -> {
+                    Map<String, MovieSummary> unique = new LinkedHashMap<>();
+                    results.stream()
+                            .flatMap(Optional::stream)
+                            .filter(MovieSearchResponse::isSuccess)
+                            .flatMap(response -> response.getSearch().stream())
+                            .filter(summary -> inDecade(summary, request.getDecade()))
+                            .forEach(summary -> unique.putIfAbsent(summary.getImdbId(), summary));
+                    List<MovieSummary> candidates = List.copyOf(unique.values());
+
+                    return (request.needsRatings() ? expandSummaries(candidates) : Mono.just(candidates))
+                            .map(summaries -> toAggregateResponse(summaries, request, offset,
+                                    (int) results.stream().filter(Optional::isPresent).count(),
+                                    (int) results.stream().filter(Optional::isEmpty).count()));
+                });
+    }
+
+    public Flux<MovieSearchEvent> streamAggregated(MovieAggregateSearchRequest request) {
+        if (!"relevance".equals(request.getSortField()) || (request.getCursor() != null && !request.getCursor().isBlank())) {
+            return Flux.just(MovieSearchEvent.failed("Streamed aggregated search emits results as pages arrive; "
+                    + "sort and cursor are only supported on the JSON response"));
+        }
+        int pages = Math.min(request.getPages(), fanOutProperties.getAggregate().getMaxPages());
+        FanOutProperties.Expand expand = fanOutProperties.getExpand();
+
+        return Flux.defer(() -> {
+            Set<String> seen = ConcurrentHashMap.newKeySet();
+            AtomicInteger index = new AtomicInteger();
+            AtomicInteger pagesFetched = new AtomicInteger();
+            AtomicInteger pagesFailed = new AtomicInteger();
+            Mono<Long> deadline = Mono.delay(expand.getDeadline()).cache();
+            return Flux.range(1, pages)
+                    .flatMap(page -> searchMovies(SearchKey.of(request.getQuery(), page, request.getType(), request.getYear()))
+                            .doOnNext(response -> pagesFetched.incrementAndGet())
+                            .flatMapIterable(response -> response.isSuccess() ? response.getSearch() : List.<MovieSummary>of())
+                            .onErrorResume(error -> {
+                                log.warn("Aggregated search page {} for '{}' failed: {}", page, request.getQuery(), error.getMessage());
+                                pagesFailed.incrementAndGet();
+                                return Flux.empty();
+                            }), pages)
+                    .filter(summary -> inDecade(summary, request.getDecade()) && seen.add(summary.getImdbId()))
+                    .flatMap(summary -> request.needsRatings() ? expandSummary(summary, deadline) : Mono.just(summary),
+                            expand.getConcurrency())
+                    .filter(summary -> request.getMinRating() == null
+                            || MovieFacts.parseDecimal(summary.getImdbRating()) >= request.getMinRating())
+                    .take(request.getLimit())
+                    .map(summary -> MovieSearchEvent.movie(index.getAndIncrement(), summary))
+                    .concatWith(Mono.fromSupplier(() ->
+                            MovieSearchEvent.aggregate(index.get(), pagesFetched.get(), pagesFailed.get())))
+                    .contextWrite(context -> context.delete(CacheStatus.class));
+        });
+    }
+
+    private MovieAggregateSearchResponse toAggregateResponse(List<MovieSummary> summaries, MovieAggregateSearchRequest request,
+                                                             int offset, int pagesFetched, int pagesFailed) {
+        List<MovieSummary> matching = summaries.stream()
+                .filter(summary -> request.getMinRating() == null
+                        || MovieFacts.parseDecimal(summary.getImdbRating()) >= request.getMinRating())
+                .sorted(aggregateOrder(request))
+                .toList();
+
+        MovieAggregateSearchResponse response = new MovieAggregateSearchResponse();
+        int from = Math.min(offset, matching.size());
+        int to = Math.min(from + request.getLimit(), matching.size());
+        response.setResults(matching.subList(from, to));
+        response.setTotal(matching.size());
+        response.setNextCursor(to < matching.size() ? encodeCursor(to) : null);
+        response.setPagesFetched(pagesFetched);
+        response.setPagesFailed(pagesFailed);
+        return response;
+    }
+
+    private static Comparator<MovieSummary> aggregateOrder(MovieAggregateSearchRequest request) {
+        Comparator<Double> direction = request.isDescending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return switch (request.getSortField()) {
+            case "year" -> Comparator.comparing(summary -> present(MovieFacts.parseStartYear(summary.getYear())),
+                    Comparator.nullsLast(direction));
+            case "rating" -> Comparator.comparing(summary -> present(MovieFacts.parseDecimal(summary.getImdbRating())),
+                    Comparator.nullsLast(direction));
+            case "title" -> request.isDescending()
+                    ? Comparator.comparing(MovieSummary::getTitle, String.CASE_INSENSITIVE_ORDER).reversed()
+                    : Comparator.comparing(MovieSummary::getTitle, String.CASE_INSENSITIVE_ORDER);
+            default -> (left, right) -> 0;
+        };
+    }
+
+    private static Double present(double value) {
+        return value == MovieFacts.ABSENT ? null : value;
+    }
+
+    private static boolean inDecade(MovieSummary summary, Integer decade) {
+        if (decade == null) {
+            return true;
+        }
+        int year = MovieFacts.parseStartYear(summary.getYear());
+        return year != MovieFacts.ABSENT && year / 10 == decade / 10;
+    }
+
+    private static String encodeCursor(int offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        int offset;
+        try {
+            offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            offset = -1;
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return offset;
+    }
+
+    private Mono<MovieBatchItem> getBatchItem(String imdbId) {
+        return Mono.defer(() -> {
+                    CacheStatus cacheStatus = new CacheStatus();
+                    return getMovieDetails(imdbId)
+                            .map(details -> MovieBatchItem.of(imdbId, details, cacheStatus))
+                            .contextWrite(context -> CacheStatus.into(context, cacheStatus));
+                })
+                .onErrorResume(error -> {
+                    log.warn("Batch lookup failed for IMDB ID {}: {}", imdbId, error.getMessage());
+                    return Mono.just(MovieBatchItem.failed(imdbId, error.getMessage()));
+                });
+    }
+
+    private Mono<MovieSearchResponse> fetchSearch(SearchKey key) {
         log.info("Searching movies with query: '{}', page: {}, type: {}, year: {} (cache miss)", 
-                request.getQuery(), request.getPage(), request.getType(), request.getYear());
+                key.query(), key.page(), key.type(), key.year());
         
         return omdbApiClient.searchMovies(
-                request.getQuery(),
-                request.getPage(),
-                request.getTypeOrDefault(),
-                request.getYear()
+                key.query(),
+                key.page(),
+                key.type(),
+                key.year()
         )
         .map(this::processSearchResponse)
         .doOnSuccess(response -> {
             if (response.isSuccess()) {
-                log.info("Found {} movies for query '{}' (cached for 15 minutes)", 
-                        response.getTotalResultsAsInt(), request.getQuery());
+                log.info("Found {} movies for query '{}'", 
+                        response.getTotalResultsAsInt(), key.query());
             } else {
-                log.warn("No movies found for query '{}': {}", request.getQuery(), response.getError());
+                log.warn("No movies found for query '{}': {}", key.query(), response.getError());
             }
         });
     }
 
-    @Cacheable(value = "movieDetails", key = "#imdbId")
-    public Mono<MovieDetails> getMovieDetails(String imdbId) {
+    private Mono<MovieDetails> fetchMovieDetails(String imdbId) {
         log.info("Getting movie details for IMDB ID: {} (cache miss)", imdbId);
         
         return omdbApiClient.getMovieDetails(imdbId)
                 .map(this::processMovieDetails)
                 .doOnSuccess(details -> {
                     if (details.isSuccess()) {
-                        log.info("Retrieved details for movie: {} ({}) (cached for 1 hour)", details.getTitle(), details.getYear());
+                        log.info("Retrieved details for movie: {} ({})", details.getTitle(), details.getYear());
                     } else {
                         log.warn("Failed to get movie details for IMDB ID {}: {}", imdbId, details.getError());
                     }
                 });
     }
 
-    @Cacheable(value = "movieDetails", key = "#title + '_' + #year")
-    public Mono<MovieDetails> getMovieByTitle(String title, Integer year) {
+    private Mono<MovieDetails> fetchMovieByTitle(String title, Integer year) {
         log.info("Getting movie by title: '{}', year: {} (cache miss)", title, year);
         
         return omdbApiClient.getMovieByTitle(title, year)
                 .map(this::processMovieDetails)
                 .doOnSuccess(details -> {
                     if (details.isSuccess()) {
-                        log.info("Retrieved movie: {} ({}) (cached for 1 hour)", details.getTitle(), details.getYear());
+                        log.info("Retrieved movie: {} ({})", details.getTitle(), details.getYear());
                     } else {
                         log.warn("Failed to get movie by title '{}': {}", title, details.getError());
                     }
                 });
     }
 
-    @Cacheable(value = "popularMovies", key = "'popular'")
-    public Mono<List<MovieSummary>> getPopularMovies() {
+    private Mono<List<MovieSummary>> fetchPopularMovies() {
         log.info("Getting popular movies (cache miss)");
 
         return omdbApiClient.searchMovies("Batman", 1, "movie", null)
@@ -88,8 +344,7 @@ public class MovieService {
                     }
                     return Collections.<MovieSummary>emptyList();
                 })
-                .doOnSuccess(movies -> log.info("Retrieved {} popular movies (cached for 30 minutes)", movies.size()))
-                .onErrorReturn(Collections.<MovieSummary>emptyList());
+                .doOnSuccess(movies -> log.info("Retrieved {} popular movies", movies.size()));
     }
     
 
@@ -127,7 +382,41 @@ public class MovieService {
     }
 
     public Mono<MovieSearchResponse> searchMoviesWithFallback(MovieSearchRequest request) {
-        return searchMovies(request)
+        return searchBySource(request)
+                .flatMap(response -> request.isExpandDetails() ? expandDetails(response) : Mono.just(response));
+    }
+
+    public Flux<MovieSearchEvent> streamSearch(MovieSearchRequest request) {
+        Mono<MovieSearchResponse> search = searchBySource(request);
+        Timer firstResult = Timer.builder("search.stream.first.result")
+                .description("Time from subscription to the first event of a streamed search")
+                .tag("expand", String.valueOf(request.isExpandDetails()))
+                .register(meterRegistry);
+
+        return Flux.defer(() -> {
+            CacheStatus cacheStatus = new CacheStatus();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicBoolean first = new AtomicBoolean();
+            return search
+                    .flatMapMany(response -> streamItems(response, request.isExpandDetails())
+                            .concatWith(Mono.fromSupplier(() -> MovieSearchEvent.summary(response, cacheStatus))))
+                    .doOnNext(event -> {
+                        if (first.compareAndSet(false, true)) {
+                            sample.stop(firstResult);
+                        }
+                    })
+                    .contextWrite(context -> CacheStatus.into(context, cacheStatus));
+        });
+    }
+
+    private Mono<MovieSearchResponse> searchBySource(MovieSearchRequest request) {
+        SearchKey key = SearchKey.of(request);
+        Mono<MovieSearchResponse> search = switch (request.getSourceOrDefault()) {
+            case LOCAL -> searchLocally(key);
+            case HYBRID -> searchHybrid(key);
+            case OMDB -> searchMovies(key).onErrorResume(OmdbUnavailableException.class, error -> searchCacheOnly(key, error));
+        };
+        return search
                 .onErrorResume(throwable -> {
                     log.error("Primary search failed, attempting fallback", throwable);
                     MovieSearchResponse fallbackResponse = new MovieSearchResponse();
@@ -138,4 +427,60 @@ public class MovieService {
                     return Mono.just(fallbackResponse);
                 });
     }
+
+    private Mono<MovieSearchResponse> searchCacheOnly(SearchKey key, OmdbUnavailableException error) {
+        MovieIndex.Page local = movieIndex.search(key);
+        if (local.hits().isEmpty()) {
+            return Mono.error(error);
+        }
+        log.warn("OMDB unavailable for '{}', serving {} local results: {}", key.query(), local.hits().size(), error.getMessage());
+        return Mono.just(local.toResponse());
+    }
+
+    private Flux<MovieSearchEvent> streamItems(MovieSearchResponse response, boolean expandDetails) {
+        List<MovieSummary> summaries = response.getSearch();
+        if (!response.isSuccess() || summaries.isEmpty()) {
+            return Flux.empty();
+        }
+        if (!expandDetails) {
+            return Flux.range(0, summaries.size()).map(index -> MovieSearchEvent.movie(index, summaries.get(index)));
+        }
+
+        FanOutProperties.Expand expand = fanOutProperties.getExpand();
+        Mono<Long> deadline = Mono.delay(expand.getDeadline()).cache();
+        return Flux.range(0, summaries.size())
+                .flatMap(index -> expandSummary(summaries.get(index), deadline)
+                        .map(summary -> MovieSearchEvent.movie(index, summary)), expand.getConcurrency());
+    }
+
+    private Mono<MovieSearchResponse> expandDetails(MovieSearchResponse response) {
+        if (!response.isSuccess() || response.getSearch().isEmpty()) {
+            return Mono.just(response);
+        }
+
+        return expandSummaries(response.getSearch()).map(response::withSearch);
+    }
+
+    private Mono<List<MovieSummary>> expandSummaries(List<MovieSummary> summaries) {
+        FanOutProperties.Expand expand = fanOutProperties.getExpand();
+        Mono<Long> deadline = Mono.delay(expand.getDeadline()).cache();
+
+        return Flux.fromIterable(summaries)
+                .flatMapSequential(summary -> expandSummary(summary, deadline), expand.getConcurrency())
+                .collectList();
+    }
+
+    private Mono<MovieSummary> expandSummary(MovieSummary summary, Mono<Long> deadline) {
+        return getMovieDetails(summary.getImdbId())
+                .filter(MovieDetails::isSuccess)
+                .map(summary::withDetails)
+                .timeout(deadline, Mono.fromRunnable(() ->
+                        log.debug("Details for {} missed the expand deadline", summary.getImdbId())))
+                .onErrorResume(error -> {
+                    log.warn("Could not expand details for {}: {}", summary.getImdbId(), error.getMessage());
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(summary)
+                .contextWrite(context -> QuotaPriority.into(context.delete(CacheStatus.class), QuotaPriority.PREFETCH));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.code.challenge.omdb.integration.bffomdb.warmup;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.SearchKey;
+import com.code.challenge.omdb.integration.bffomdb.config.WarmupProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchResponse;
+import com.code.challenge.omdb.integration.bffomdb.resilience.QuotaPriority;
+import com.code.challenge.omdb.integration.bffomdb.service.MovieService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class CacheWarmer implements DisposableBean {
+
+    public record Result(int keys, int warmed, Instant completedAt) {
+
+        public double successRatio() {
+            return keys == 0 ? 1.0 : (double) warmed / keys;
+        }
+    }
+
+    private final MovieService movieService;
+    private final HotKeyTracker hotKeyTracker;
+    private final WarmupProperties warmupProperties;
+    private final Instant startedAt = Instant.now();
+
+    private volatile Result lastResult;
+    private volatile boolean warm;
+    private volatile Disposable schedule;
+
+    public CacheWarmer(MovieService movieService, HotKeyTracker hotKeyTracker, WarmupProperties warmupProperties,
+                       MeterRegistry meterRegistry) {
+        this.movieService = movieService;
+        this.hotKeyTracker = hotKeyTracker;
+        this.warmupProperties = warmupProperties;
+
+        Gauge.builder("cache.warmup.success.ratio", this, warmer -> warmer.lastResult != null ? warmer.lastResult.successRatio() : 0)
+                .description("Share of warm-up keys whose upstream load succeeded in the last warm-up run")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!warmupProperties.isEnabled()) {
+            return;
+        }
+        schedule = Flux.interval(Duration.ZERO, warmupProperties.getInterval())
+                .onBackpressureDrop()
+                .concatMap(run -> warmUp(run > 0), 1)
+                .subscribe();
+    }
+
+    public Mono<Result> warmUp(boolean includeHotKeys) {
+        List<Supplier<Mono<Boolean>>> tasks = tasks(includeHotKeys);
+        Duration spacing = Duration.ofMillis(1000 / Math.max(1, warmupProperties.getRatePerSecond()));
+
+        return Flux.fromIterable(tasks)
+                .delayElements(spacing)
+                .flatMap(task -> Mono.defer(task).onErrorReturn(false), warmupProperties.getConcurrency())
+                .filter(Boolean::booleanValue)
+                .count()
+                .map(warmed -> new Result(tasks.size(), warmed.intValue(), Instant.now()))
+                .doOnNext(this::complete)
+                .contextWrite(context -> QuotaPriority.into(context, QuotaPriority.BACKGROUND))
+                .onErrorResume(error -> {
+                    log.warn("Cache warm-up run failed: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public boolean isWarm() {
+        return !warmupProperties.isEnabled() || warm;
+    }
+
+    public boolean isReadinessTimedOut() {
+        return Instant.now().isAfter(startedAt.plus(warmupProperties.getReadinessTimeout()));
+    }
+
+    public Result getLastResult() {
+        return lastResult;
+    }
+
+    @Override
+    public void destroy() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    private List<Supplier<Mono<Boolean>>> tasks(boolean includeHotKeys) {
+        Set<SearchKey> searches = new LinkedHashSet<>();
+        warmupProperties.getSearches().forEach(query -> searches.add(SearchKey.of(query, 1, null, null)));
+        Set<String> movies = new LinkedHashSet<>(warmupProperties.getMovies());
+        if (includeHotKeys) {
+            searches.addAll(hotKeyTracker.topSearches(warmupProperties.getTopN()));
+            movies.addAll(hotKeyTracker.topMovies(warmupProperties.getTopN()));
+            hotKeyTracker.decay();
+        }
+
+        List<Supplier<Mono<Boolean>>> tasks = new ArrayList<>();
+        if (warmupProperties.isPopular()) {
+            tasks.add(() -> movieService.getPopularMovies().map(popular -> !popular.isEmpty()));
+        }
+        searches.forEach(search -> tasks.add(() -> movieService.searchMovies(search)
+                .map(MovieSearchResponse::isSuccess)));
+        movies.forEach(imdbId -> tasks.add(() -> movieService.getMovieDetails(imdbId)
+                .map(MovieDetails::isSuccess)));
+        return tasks;
+    }
+
+    private void complete(Result result) {
+        lastResult = result;
+        if (!warm && result.successRatio() >= warmupProperties.getReadinessSuccessRatio()) {
+            warm = true;
+            log.info("Cache warm-up reached {}% of {} keys, ready for traffic",
+                    Math.round(result.successRatio() * 100), result.keys());
+        } else {
+            log.info("Cache warm-up run completed: {}/{} keys warmed", result.warmed(), result.keys());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.code.challenge.omdb.integration.bffomdb.warmup;
+
+import com.code.challenge.omdb.integration.bffomdb.config.WarmupProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmer cacheWarmer;
+    private final WarmupProperties warmupProperties;
+
+    @Override
+    public Health health() {
+        if (!warmupProperties.isEnabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+
+        Health.Builder builder;
+        if (cacheWarmer.isWarm()) {
+            builder = Health.up();
+        } else if (cacheWarmer.isReadinessTimedOut()) {
+            builder = Health.up().withDetail("readinessTimedOut", true);
+        } else {
+            builder = Health.outOfService();
+        }
+
+        builder.withDetail("targetSuccessRatio", warmupProperties.getReadinessSuccessRatio());
+        CacheWarmer.Result result = cacheWarmer.getLastResult();
+        if (result != null) {
+            builder.withDetail("successRatio", result.successRatio())
+                    .withDetail("keys", result.keys())
+                    .withDetail("warmed", result.warmed())
+                    .withDetail("completedAt", result.completedAt());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.code.challenge.omdb.integration.bffomdb.warmup;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.SearchKey;
+import com.code.challenge.omdb.integration.bffomdb.config.WarmupProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+public class HotKeyTracker {
+
+    private final WarmupProperties warmupProperties;
+
+    private final Map<SearchKey, LongAdder> searches = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> movies = new ConcurrentHashMap<>();
+
+    public void recordSearch(SearchKey key) {
+        record(searches, key);
+    }
+
+    public void recordMovie(String imdbId) {
+        record(movies, imdbId);
+    }
+
+    public List<SearchKey> topSearches(int limit) {
+        return top(searches, limit);
+    }
+
+    public List<String> topMovies(int limit) {
+        return top(movies, limit);
+    }
+
+    public void decay() {
+        decay(searches);
+        decay(movies);
+    }
+
+    private <K> void record(Map<K, LongAdder> counts, K key) {
+        LongAdder count = counts.get(key);
+        if (count == null) {
+            if (counts.size() >= warmupProperties.getMaxTrackedKeys()) {
+                return;
+            }
+            count = counts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    private static <K> List<K> top(Map<K, LongAdder> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<K, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static <K> void decay(Map<K, LongAdder> counts) {
+        counts.entrySet().removeIf(entry -> {
+            long halved = entry.getValue().sumThenReset() / 2;
+            entry.getValue().add(halved);
+            return halved == 0;
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.code.challenge.omdb.integration.bffomdb;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class ReactiveModeTests {
+
+	@Autowired
+	private ReactiveWebServerApplicationContext applicationContext;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	void runsOnNetty() {
+		assertInstanceOf(NettyWebServer.class, applicationContext.getWebServer());
+	}
+
+	@Test
+	void servesHealthCheck() {
+		webTestClient.get().uri("/api/v1/movies/health")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class).isEqualTo("Movie service is healthy");
+	}
+
+	@Test
+	void reportsValidationErrors() {
+		webTestClient.post().uri("/api/v1/movies/search")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"query\":\"\"}")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.error").isEqualTo("Validation Failed")
+				.jsonPath("$.validationErrors.query").exists();
+	}
+
+	@Test
+	void appliesCorsPolicy() {
+		webTestClient.options().uri("/api/v1/movies/health")
+				.header("Origin", "http://localhost:3000")
+				.header("Access-Control-Request-Method", "GET")
+				.exchange()
+				.expectHeader().valueEquals("Access-Control-Allow-Origin", "http://localhost:3000");
+	}
+
+}
@@ -0,0 +1,155 @@
+package com.code.challenge.omdb.integration.bffomdb.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitProperties;
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitingConfig;
+import com.code.challenge.omdb.integration.bffomdb.interceptor.RateLimitingInterceptor;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.ClientIpResolver;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.LocalRateLimitStore;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.RateLimitPolicies;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimitingBenchmarkTests {
+
+    private static final class DiscardingResponse extends MockHttpServletResponse {
+
+        private final ServletOutputStream discard = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return discard;
+        }
+    }
+
+    private ClientIpResolver resolver;
+    private RateLimitingInterceptor allowingInterceptor;
+    private RateLimitingInterceptor rejectingInterceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private MockHttpServletResponse rejectedResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        ((Logger) LoggerFactory.getLogger(RateLimitingConfig.class)).setLevel(Level.ERROR);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxies(List.of("127.0.0.1/32", "10.0.0.0/8", "fd00::/8"));
+        resolver = new ClientIpResolver(properties);
+        allowingInterceptor = interceptor(properties, 1_000_000_000L);
+        rejectingInterceptor = interceptor(properties, 1);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/movies/search");
+        request.setRemoteAddr("127.0.0.1");
+        request.addHeader("X-Forwarded-For", "198.51.100.1, 10.0.0.2");
+        response = new MockHttpServletResponse();
+        rejectedResponse = new DiscardingResponse();
+        rejectingInterceptor.preHandle(request, response, null);
+    }
+
+    @Benchmark
+    public String resolveDirectPeer() {
+        return resolver.resolve("198.51.100.1", null, null);
+    }
+
+    @Benchmark
+    public String resolveForwardedChain() {
+        return resolver.resolve("127.0.0.1", "203.0.113.9, 198.51.100.1, 10.0.0.2", null);
+    }
+
+    @Benchmark
+    public String resolveIpv6Chain() {
+        return resolver.resolve("fd00::1", "2001:db8::8a2e:370:7334, fd12:3456::2", null);
+    }
+
+    @Benchmark
+    public boolean preHandleAllowed() throws Exception {
+        return allowingInterceptor.preHandle(request, response, null);
+    }
+
+    @Benchmark
+    public boolean preHandleRejected() throws Exception {
+        return rejectingInterceptor.preHandle(request, rejectedResponse, null);
+    }
+
+    @Test
+    void measureRateLimitingOverhead() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(getClass().getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        System.out.printf("%n%-24s %12s %12s%n", "benchmark", "ns/op", "B/op");
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark().replaceAll(".*\\.", "");
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            System.out.printf("%-24s %12.1f %12.1f%n", name, result.getPrimaryResult().getScore(),
+                    allocation != null ? allocation.getScore() : Double.NaN);
+        }
+
+        assertEquals(5, results.size());
+        assertFalse(results.stream().anyMatch(result -> Double.isNaN(result.getPrimaryResult().getScore())));
+    }
+
+    private static RateLimitingInterceptor interceptor(RateLimitProperties properties, long requestsPerMinute) {
+        properties.setRequestsPerMinute(requestsPerMinute);
+        LocalRateLimitStore store = new LocalRateLimitStore(properties.getLocal(), new SimpleMeterRegistry());
+        return new RateLimitingInterceptor(new RateLimitingConfig(store, new RateLimitPolicies(properties)), new ClientIpResolver(properties));
+    }
+}
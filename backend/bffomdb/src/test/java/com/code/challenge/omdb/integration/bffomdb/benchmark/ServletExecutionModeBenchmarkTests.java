@@ -0,0 +1,144 @@
+package com.code.challenge.omdb.integration.bffomdb.benchmark;
+
+import com.code.challenge.omdb.integration.bffomdb.BffomdbApplication;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class ServletExecutionModeBenchmarkTests {
+
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(250);
+    private static final int CONCURRENCY = 64;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int REQUESTS = 2_000;
+
+    private static HttpServer slowOmdbStub;
+
+    @BeforeAll
+    static void startSlowOmdbStub() throws Exception {
+        slowOmdbStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        slowOmdbStub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        slowOmdbStub.createContext("/", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String query = exchange.getRequestURI().getQuery();
+            String imdbId = query.replaceAll(".*i=([^&]+).*", "$1");
+            byte[] body = ("{\"Title\":\"Movie " + imdbId + "\",\"Year\":\"2005\",\"imdbID\":\"" + imdbId + "\",\"imdbRating\":\"7.8\",\"Response\":\"True\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        slowOmdbStub.start();
+    }
+
+    @AfterAll
+    static void stopSlowOmdbStub() {
+        slowOmdbStub.stop(0);
+    }
+
+    @Test
+    void compareAsyncServletAndVirtualThreads() throws Exception {
+        Result asyncServlet = run("async-servlet", false);
+        Result virtualThreads = run("virtual-threads", true);
+
+        System.out.printf("%n%-16s %12s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+        for (Result result : List.of(asyncServlet, virtualThreads)) {
+            System.out.printf("%-16s %12.1f %10.1f %10.1f %8d%n",
+                    result.mode(), result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+        }
+
+        assertEquals(0, asyncServlet.errors());
+        assertEquals(0, virtualThreads.errors());
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BffomdbApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--omdb.api.url=http://127.0.0.1:" + slowOmdbStub.getAddress().getPort() + "/",
+                "--omdb.resilience.concurrency.initial-limit=" + CONCURRENCY,
+                "--omdb.resilience.concurrency.min-limit=" + CONCURRENCY,
+                "--omdb.resilience.concurrency.max-limit=" + CONCURRENCY,
+                "--webclient.pool.max-connections=" + CONCURRENCY,
+                "--omdb.api.timeout=30s",
+                "--resilience4j.circuitbreaker.configs.default.failure-rate-threshold=100",
+                "--resilience4j.circuitbreaker.configs.default.slow-call-rate-threshold=100",
+                "--logging.level.root=WARN",
+                "--logging.level.com.code.challenge.omdb.integration.bffomdb=WARN")) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            load("warmup-" + mode, port, WARMUP_REQUESTS);
+            return load(mode, port, REQUESTS);
+        }
+    }
+
+    private Result load(String mode, int port, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                workers.add(CompletableFuture.runAsync(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/v1/movies/tt" + mode.hashCode() + "_" + i))
+                                .header("X-Forwarded-For", "10.0." + (i % 250) + "." + (i / 250 % 250))
+                                .build();
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - requestStart;
+                    }
+                }, Executors.newVirtualThreadPerTaskExecutor()));
+            }
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new Result(mode,
+                    requests / (elapsed / 1e9),
+                    latencies[requests / 2] / 1e6,
+                    latencies[(int) (requests * 0.99)] / 1e6,
+                    errors.get());
+        }
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import com.code.challenge.omdb.integration.bffomdb.config.CacheProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("DiskSecondLevelCache Tests")
+class DiskSecondLevelCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should persist movie details across instances")
+    void shouldPersistMovieDetailsAcrossInstances() throws Exception {
+
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getDisk().setDirectory(directory.toString());
+
+        MovieDetails details = new MovieDetails();
+        details.setTitle("Batman Begins");
+        details.setImdbId("tt0372784");
+        details.setResponse("True");
+        CachedValue<MovieDetails> entry = new CachedValue<>(details, System.currentTimeMillis() - 5_000);
+
+        DiskSecondLevelCache cache = new DiskSecondLevelCache(cacheProperties, new SimpleMeterRegistry());
+        cache.put(CacheNames.MOVIE_DETAILS, "tt0372784", entry);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                StepVerifier.create(cache.get(CacheNames.MOVIE_DETAILS, "tt0372784")).expectNextCount(1).verifyComplete());
+        cache.destroy();
+
+        DiskSecondLevelCache reopened = new DiskSecondLevelCache(cacheProperties, new SimpleMeterRegistry());
+        StepVerifier.create(reopened.<MovieDetails>get(CacheNames.MOVIE_DETAILS, "tt0372784"))
+                .assertNext(restored -> {
+                    assertEquals(entry.createdAt(), restored.createdAt());
+                    assertEquals("Batman Begins", restored.value().getTitle());
+                    assertEquals(true, restored.value().isSuccess());
+                })
+                .verifyComplete();
+        StepVerifier.create(reopened.get(CacheNames.POPULAR_MOVIES, "popular")).verifyComplete();
+        reopened.destroy();
+    }
+}
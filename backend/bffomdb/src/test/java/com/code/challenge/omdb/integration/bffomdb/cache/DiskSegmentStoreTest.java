@@ -0,0 +1,127 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DiskSegmentStore Tests")
+class DiskSegmentStoreTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should recover entries and their timestamps after reopening")
+    void shouldRecoverEntriesAfterReopening() throws IOException {
+
+        long createdAt = System.currentTimeMillis() - 1_000;
+        try (DiskSegmentStore store = new DiskSegmentStore(directory, 1024)) {
+            store.put("tt1", bytes("first"), createdAt, createdAt + HOUR);
+            store.put("tt1", bytes("second"), createdAt, createdAt + HOUR);
+            store.put("tt2", bytes("other"), createdAt, createdAt + HOUR);
+        }
+
+        try (DiskSegmentStore store = new DiskSegmentStore(directory, 1024)) {
+            DiskSegmentStore.Entry entry = store.get("tt1");
+            assertNotNull(entry);
+            assertEquals("second", new String(entry.value(), StandardCharsets.UTF_8));
+            assertEquals(createdAt, entry.createdAt());
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not serve or recover expired entries")
+    void shouldNotServeExpiredEntries() throws IOException {
+
+        long now = System.currentTimeMillis();
+        try (DiskSegmentStore store = new DiskSegmentStore(directory, 1024)) {
+            store.put("expired", bytes("value"), now - HOUR, now - 1);
+            store.put("live", bytes("value"), now, now + HOUR);
+
+            assertNull(store.get("expired"));
+            assertNotNull(store.get("live"));
+        }
+
+        try (DiskSegmentStore store = new DiskSegmentStore(directory, 1024)) {
+            assertEquals(1, store.size());
+            assertNull(store.get("expired"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reclaim segments holding only overwritten entries on compaction")
+    void shouldReclaimOverwrittenSegmentsOnCompaction() throws IOException {
+
+        long now = System.currentTimeMillis();
+        try (DiskSegmentStore store = new DiskSegmentStore(directory, 256)) {
+            for (int round = 0; round < 5; round++) {
+                for (int key = 0; key < 4; key++) {
+                    store.put("tt" + key, bytes("round " + round), now, now + HOUR);
+                }
+            }
+            long before = store.diskBytes();
+
+            store.compact(0.5);
+
+            assertTrue(store.diskBytes() < before);
+            assertEquals("round 4", new String(store.get("tt3").value(), StandardCharsets.UTF_8));
+        }
+
+        try (DiskSegmentStore store = new DiskSegmentStore(directory, 256)) {
+            assertEquals(4, store.size());
+            for (int key = 0; key < 4; key++) {
+                assertEquals("round 4", new String(store.get("tt" + key).value(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep complete records when the segment tail is torn")
+    void shouldRecoverFromTornTail() throws IOException {
+
+        long now = System.currentTimeMillis();
+        try (DiskSegmentStore store = new DiskSegmentStore(directory, 1024)) {
+            store.put("tt1", bytes("complete"), now, now + HOUR);
+            store.put("tt2", bytes("torn"), now, now + HOUR);
+        }
+
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (DiskSegmentStore store = new DiskSegmentStore(directory, 1024)) {
+            assertNotNull(store.get("tt1"));
+            assertNull(store.get("tt2"));
+            store.put("tt2", bytes("rewritten"), now, now + HOUR);
+            assertEquals("rewritten", new String(store.get("tt2").value(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import com.code.challenge.omdb.integration.bffomdb.config.CacheProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("RedisSecondLevelCache Tests")
+class RedisSecondLevelCacheTest {
+
+    private RedisStandIn redis;
+    private RedisSecondLevelCache replicaA;
+    private RedisSecondLevelCache replicaB;
+    private ConcurrentMapCacheManager localCachesB;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        redis = new RedisStandIn();
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getRedis().setUri(redis.uri());
+        cacheProperties.getRedis().setTimeout(Duration.ofSeconds(2));
+
+        localCachesB = new ConcurrentMapCacheManager();
+        replicaA = new RedisSecondLevelCache(cacheProperties, new ConcurrentMapCacheManager(), new SimpleMeterRegistry());
+        replicaB = new RedisSecondLevelCache(cacheProperties, localCachesB, new SimpleMeterRegistry());
+        await().atMost(Duration.ofSeconds(5)).until(() -> replicaA.isAvailable() && replicaB.isAvailable());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        replicaA.destroy();
+        replicaB.destroy();
+        redis.close();
+    }
+
+    @Test
+    @DisplayName("Should share entries and invalidate other replicas' local copies")
+    void shouldShareEntriesAndInvalidateLocalCopies() {
+
+        localCachesB.getCache(CacheNames.MOVIE_DETAILS).put("tt0372784", CachedValue.of(details("Old title")));
+
+        CachedValue<MovieDetails> entry = CachedValue.of(details("Batman Begins"));
+        replicaA.put(CacheNames.MOVIE_DETAILS, "tt0372784", entry);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertNull(localCachesB.getCache(CacheNames.MOVIE_DETAILS).get("tt0372784")));
+        StepVerifier.create(replicaB.<MovieDetails>get(CacheNames.MOVIE_DETAILS, "tt0372784"))
+                .assertNext(shared -> {
+                    assertEquals("Batman Begins", shared.value().getTitle());
+                    assertEquals(entry.createdAt(), shared.createdAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fetch several keys in one round trip")
+    void shouldFetchSeveralKeysInOneRoundTrip() {
+
+        replicaA.put(CacheNames.MOVIE_DETAILS, "tt1", CachedValue.of(details("One")));
+        replicaA.put(CacheNames.MOVIE_DETAILS, "tt2", CachedValue.of(details("Two")));
+        await().atMost(Duration.ofSeconds(5)).until(() -> redis.contains("bffomdb:movieDetails:tt2"));
+
+        StepVerifier.create(replicaB.<MovieDetails>getAll(CacheNames.MOVIE_DETAILS, List.of("tt1", "tt2", "tt3")))
+                .assertNext(entries -> {
+                    assertEquals(2, entries.size());
+                    assertEquals("Two", entries.get("tt2").value().getTitle());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should degrade to local-only when Redis is unreachable")
+    void shouldDegradeWhenRedisIsUnreachable() throws IOException {
+
+        redis.close();
+        replicaB.destroy();
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getRedis().setUri("redis://127.0.0.1:1");
+        replicaB = new RedisSecondLevelCache(cacheProperties, localCachesB, new SimpleMeterRegistry());
+
+        StepVerifier.create(replicaB.get(CacheNames.MOVIE_DETAILS, "tt1"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+        replicaB.put(CacheNames.MOVIE_DETAILS, "tt1", CachedValue.of(details("One")));
+        assertFalse(replicaB.isAvailable());
+    }
+
+    private static MovieDetails details(String title) {
+        MovieDetails details = new MovieDetails();
+        details.setTitle(title);
+        details.setResponse("True");
+        return details;
+    }
+}
@@ -0,0 +1,196 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class RedisStandIn implements Closeable {
+
+    private record Value(byte[] bytes, long expiresAt) {
+    }
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Value> values = new ConcurrentHashMap<>();
+    private final Map<String, Set<OutputStream>> subscribers = new ConcurrentHashMap<>();
+
+    public RedisStandIn() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.submit(this::accept);
+    }
+
+    public String uri() {
+        return "redis://127.0.0.1:" + serverSocket.getLocalPort();
+    }
+
+    boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.submit(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            List<byte[]> command;
+            while ((command = readCommand(in)) != null) {
+                synchronized (out) {
+                    execute(command, out);
+                    out.flush();
+                }
+            }
+        } catch (IOException ignored) {
+        } finally {
+            subscribers.values().forEach(outputs -> outputs.removeIf(out -> socket.isClosed()));
+        }
+    }
+
+    private void execute(List<byte[]> command, OutputStream out) throws IOException {
+        String name = text(command.get(0)).toUpperCase();
+        switch (name) {
+            case "HELLO" -> write(out, "-ERR unknown command 'HELLO'\r\n");
+            case "PING" -> write(out, "+PONG\r\n");
+            case "GET" -> writeBulk(out, lookup(text(command.get(1))));
+            case "MGET" -> {
+                write(out, "*" + (command.size() - 1) + "\r\n");
+                for (byte[] key : command.subList(1, command.size())) {
+                    writeBulk(out, lookup(text(key)));
+                }
+            }
+            case "SET" -> {
+                long expiresAt = Long.MAX_VALUE;
+                if (command.size() >= 5 && "PX".equalsIgnoreCase(text(command.get(3)))) {
+                    expiresAt = System.currentTimeMillis() + Long.parseLong(text(command.get(4)));
+                }
+                values.put(text(command.get(1)), new Value(command.get(2), expiresAt));
+                write(out, "+OK\r\n");
+            }
+            case "INCR", "DECR", "INCRBY", "DECRBY" -> {
+                long amount = command.size() > 2 ? Long.parseLong(text(command.get(2))) : 1;
+                long delta = name.startsWith("INCR") ? amount : -amount;
+                Value updated = values.compute(text(command.get(1)), (key, value) -> {
+                    boolean live = value != null && value.expiresAt() > System.currentTimeMillis();
+                    long current = live ? Long.parseLong(text(value.bytes())) : 0;
+                    byte[] next = String.valueOf(current + delta).getBytes(StandardCharsets.UTF_8);
+                    return new Value(next, live ? value.expiresAt() : Long.MAX_VALUE);
+                });
+                write(out, ":" + text(updated.bytes()) + "\r\n");
+            }
+            case "PEXPIRE" -> {
+                long expiresAt = System.currentTimeMillis() + Long.parseLong(text(command.get(2)));
+                Value updated = values.computeIfPresent(text(command.get(1)),
+                        (key, value) -> new Value(value.bytes(), expiresAt));
+                write(out, ":" + (updated != null ? 1 : 0) + "\r\n");
+            }
+            case "SUBSCRIBE" -> {
+                for (int i = 1; i < command.size(); i++) {
+                    subscribers.computeIfAbsent(text(command.get(i)), channel -> new CopyOnWriteArraySet<>()).add(out);
+                    write(out, "*3\r\n");
+                    writeBulk(out, "subscribe".getBytes(StandardCharsets.UTF_8));
+                    writeBulk(out, command.get(i));
+                    write(out, ":" + i + "\r\n");
+                }
+            }
+            case "PUBLISH" -> {
+                Set<OutputStream> outputs = subscribers.getOrDefault(text(command.get(1)), Set.of());
+                for (OutputStream subscriber : outputs) {
+                    synchronized (subscriber) {
+                        write(subscriber, "*3\r\n");
+                        writeBulk(subscriber, "message".getBytes(StandardCharsets.UTF_8));
+                        writeBulk(subscriber, command.get(1));
+                        writeBulk(subscriber, command.get(2));
+                        subscriber.flush();
+                    }
+                }
+                write(out, ":" + outputs.size() + "\r\n");
+            }
+            default -> write(out, "+OK\r\n");
+        }
+    }
+
+    private byte[] lookup(String key) {
+        Value value = values.get(key);
+        if (value == null || value.expiresAt() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return value.bytes();
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<byte[]> arguments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] argument = in.readNBytes(length);
+            in.readNBytes(2);
+            arguments.add(argument);
+        }
+        return arguments;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return null;
+    }
+
+    private static void writeBulk(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            write(out, "$-1\r\n");
+            return;
+        }
+        write(out, "$" + value.length + "\r\n");
+        out.write(value);
+        write(out, "\r\n");
+    }
+
+    private static void write(OutputStream out, String value) throws IOException {
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
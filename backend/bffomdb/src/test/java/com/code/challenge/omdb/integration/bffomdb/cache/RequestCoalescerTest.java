@@ -0,0 +1,90 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DisplayName("RequestCoalescer Tests")
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer requestCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should share a single upstream call between concurrent callers")
+    void shouldShareSingleUpstreamCall() {
+
+        AtomicInteger subscriptions = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+        Mono<String> call = upstream.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+        Mono<String> first = requestCoalescer.coalesce(CacheNames.MOVIE_DETAILS, "tt1", () -> call);
+        Mono<String> second = requestCoalescer.coalesce(CacheNames.MOVIE_DETAILS, "tt1", () -> call);
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> upstream.tryEmitValue("details"))
+                .expectNextMatches(tuple -> "details".equals(tuple.getT1()) && "details".equals(tuple.getT2()))
+                .verifyComplete();
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(0.5, meterRegistry.get("cache.coalescing.ratio").tag("cache", CacheNames.MOVIE_DETAILS).gauge().value());
+        assertFalse(requestCoalescer.isInFlight(CacheNames.MOVIE_DETAILS, "tt1"));
+    }
+
+    @Test
+    @DisplayName("Should keep the shared call running when one caller cancels")
+    void shouldKeepSharedCallRunningWhenOneCallerCancels() {
+
+        Sinks.One<String> upstream = Sinks.one();
+
+        Disposable cancelled = requestCoalescer.coalesce(CacheNames.MOVIE_DETAILS, "tt1", upstream::asMono).subscribe();
+        Mono<String> remaining = requestCoalescer.coalesce(CacheNames.MOVIE_DETAILS, "tt1", upstream::asMono);
+        cancelled.dispose();
+
+        StepVerifier.create(remaining)
+                .then(() -> upstream.tryEmitValue("details"))
+                .expectNext("details")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should start a new call once the previous one completed")
+    void shouldStartNewCallAfterCompletion() {
+
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(requestCoalescer.coalesce(CacheNames.MOVIE_SEARCH, "q", () -> Mono.fromCallable(calls::incrementAndGet)))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(requestCoalescer.coalesce(CacheNames.MOVIE_SEARCH, "q", () -> Mono.fromCallable(calls::incrementAndGet)))
+                .expectNext(2)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not retain failed calls")
+    void shouldNotRetainFailedCalls() {
+
+        StepVerifier.create(requestCoalescer.coalesce(CacheNames.MOVIE_SEARCH, "q", () -> Mono.<String>error(new IllegalStateException("down"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertFalse(requestCoalescer.isInFlight(CacheNames.MOVIE_SEARCH, "q"));
+    }
+}
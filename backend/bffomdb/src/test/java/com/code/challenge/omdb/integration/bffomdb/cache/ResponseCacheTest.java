@@ -0,0 +1,136 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import com.code.challenge.omdb.integration.bffomdb.config.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ResponseCache Tests")
+class ResponseCacheTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheProperties cacheProperties;
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        cacheProperties = new CacheProperties();
+        responseCache = new ResponseCache(cacheManager, cacheProperties, new RequestCoalescer(new SimpleMeterRegistry()), SecondLevelCache.NONE, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should load once and serve subsequent lookups from cache")
+    void shouldLoadOnceAndServeFromCache() {
+
+        AtomicInteger calls = new AtomicInteger();
+        CacheMisses cacheMisses = new CacheMisses();
+
+        CacheStatus missStatus = new CacheStatus();
+        StepVerifier.create(responseCache.get(CacheNames.MOVIE_DETAILS, "tt1", () -> Mono.fromCallable(() -> "v" + calls.incrementAndGet()))
+                        .contextWrite(context -> CacheMisses.into(CacheStatus.into(context, missStatus), cacheMisses)))
+                .expectNext("v1")
+                .verifyComplete();
+        CacheStatus hitStatus = new CacheStatus();
+        StepVerifier.create(responseCache.get(CacheNames.MOVIE_DETAILS, "tt1", () -> Mono.fromCallable(() -> "v" + calls.incrementAndGet()))
+                        .contextWrite(context -> CacheMisses.into(CacheStatus.into(context, hitStatus), cacheMisses)))
+                .expectNext("v1")
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+        assertEquals(Optional.of(CacheStatus.Result.MISS), missStatus.getResult());
+        assertEquals(Optional.of(CacheStatus.Result.HIT), hitStatus.getResult());
+        assertEquals(1, cacheMisses.getCount());
+    }
+
+    @Test
+    @DisplayName("Should not cache loader errors")
+    void shouldNotCacheLoaderErrors() {
+
+        StepVerifier.create(responseCache.get(CacheNames.MOVIE_DETAILS, "tt1", () -> Mono.<String>error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(responseCache.get(CacheNames.MOVIE_DETAILS, "tt1", () -> Mono.just("v1")))
+                .expectNext("v1")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should store unsuccessful results in the negative cache tier")
+    void shouldStoreUnsuccessfulResultsInNegativeTier() {
+
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(responseCache.get(CacheNames.MOVIE_DETAILS, "tt0", value -> !value.startsWith("not found"),
+                        () -> Mono.fromCallable(() -> "not found " + calls.incrementAndGet())))
+                .expectNext("not found 1")
+                .verifyComplete();
+        StepVerifier.create(responseCache.get(CacheNames.MOVIE_DETAILS, "tt0", value -> !value.startsWith("not found"),
+                        () -> Mono.fromCallable(() -> "not found " + calls.incrementAndGet())))
+                .expectNext("not found 1")
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+        assertNull(cacheManager.getCache(CacheNames.MOVIE_DETAILS).get("tt0"));
+        assertNotNull(cacheManager.getCache(CacheNames.MOVIE_DETAILS_NEGATIVE).get("tt0"));
+    }
+
+    @Test
+    @DisplayName("Should serve current value and refresh in background once refresh-after-write elapsed")
+    void shouldRefreshAheadInBackground() {
+
+        CacheProperties.Spec spec = new CacheProperties.Spec();
+        spec.setRefreshAfterWrite(Duration.ofMinutes(1));
+        cacheProperties.getSpecs().put(CacheNames.MOVIE_DETAILS, spec);
+
+        cacheManager.getCache(CacheNames.MOVIE_DETAILS)
+                .put("tt1", new CachedValue<>("old", System.currentTimeMillis() - Duration.ofMinutes(2).toMillis()));
+
+        CacheStatus cacheStatus = new CacheStatus();
+        StepVerifier.create(responseCache.get(CacheNames.MOVIE_DETAILS, "tt1", () -> Mono.just("new"))
+                        .contextWrite(context -> CacheStatus.into(context, cacheStatus)))
+                .expectNext("old")
+                .verifyComplete();
+
+        assertEquals(Optional.of(CacheStatus.Result.STALE), cacheStatus.getResult());
+        assertTrue(cacheStatus.getAge().compareTo(Duration.ofMinutes(2)) >= 0);
+
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() ->
+                StepVerifier.create(responseCache.get(CacheNames.MOVIE_DETAILS, "tt1", () -> Mono.just("other")))
+                        .expectNext("new")
+                        .verifyComplete());
+    }
+
+    @Test
+    @DisplayName("Should keep current value when background refresh fails")
+    void shouldKeepValueWhenRefreshFails() {
+
+        CacheProperties.Spec spec = new CacheProperties.Spec();
+        spec.setRefreshAfterWrite(Duration.ofMinutes(1));
+        cacheProperties.getSpecs().put(CacheNames.MOVIE_DETAILS, spec);
+
+        cacheManager.getCache(CacheNames.MOVIE_DETAILS)
+                .put("tt1", new CachedValue<>("old", System.currentTimeMillis() - Duration.ofMinutes(2).toMillis()));
+
+        StepVerifier.create(responseCache.get(CacheNames.MOVIE_DETAILS, "tt1", () -> Mono.<String>error(new IllegalStateException("down"))))
+                .expectNext("old")
+                .verifyComplete();
+        StepVerifier.create(responseCache.get(CacheNames.MOVIE_DETAILS, "tt1", () -> Mono.<String>error(new IllegalStateException("down"))))
+                .expectNext("old")
+                .verifyComplete();
+    }
+}
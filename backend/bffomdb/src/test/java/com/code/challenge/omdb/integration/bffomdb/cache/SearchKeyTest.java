@@ -0,0 +1,44 @@
+package com.code.challenge.omdb.integration.bffomdb.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@DisplayName("SearchKey Tests")
+class SearchKeyTest {
+
+    @Test
+    @DisplayName("Should treat equivalent queries as the same key")
+    void shouldNormalizeEquivalentQueries() {
+
+        SearchKey key = SearchKey.of("Batman", 1, null, null);
+
+        assertEquals(key, SearchKey.of("  BATMAN ", null, "movie", null));
+        assertEquals(key, SearchKey.of("batman", 0, " Movie ", null));
+        assertEquals(key.hashCode(), SearchKey.of("bAtMaN", 1, "", null).hashCode());
+        assertNotEquals(key, SearchKey.of("Batman", 2, null, null));
+        assertNotEquals(key, SearchKey.of("Batman", 1, "series", null));
+        assertNotEquals(key, SearchKey.of("Batman", 1, null, 1989));
+    }
+
+    @Test
+    @DisplayName("Should apply Unicode NFC and collapse whitespace")
+    void shouldNormalizeUnicodeAndWhitespace() {
+
+        assertEquals(SearchKey.of("Amélie", 1, null, null), SearchKey.of("AMÉLIE", 1, null, null));
+        assertEquals("the dark knight", SearchKey.of(" The \t Dark  Knight", 1, null, null).query());
+    }
+
+    @Test
+    @DisplayName("Should round-trip through its string form")
+    void shouldRoundTripThroughString() {
+
+        SearchKey withYear = SearchKey.of("Fast | Furious", 3, "movie", 2009);
+        SearchKey withoutYear = SearchKey.of("Alien", 1, "series", null);
+
+        assertEquals(withYear, SearchKey.parse(withYear.toString()));
+        assertEquals(withoutYear, SearchKey.parse(withoutYear.toString()));
+    }
+}
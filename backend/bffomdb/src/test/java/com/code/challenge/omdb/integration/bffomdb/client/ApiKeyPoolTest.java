@@ -0,0 +1,132 @@
+package com.code.challenge.omdb.integration.bffomdb.client;
+
+import com.code.challenge.omdb.integration.bffomdb.config.ApiKeyPoolProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.exception.OmdbUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("ApiKeyPool Tests")
+class ApiKeyPoolTest {
+
+    private ApiKeyPoolProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApiKeyPoolProperties();
+        properties.getKeys().add(key("primary", "aaa", 2));
+        properties.getKeys().add(key("secondary", "bbb", 1));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should spread calls across keys by weight")
+    void shouldSpreadCallsByWeight() {
+
+        ApiKeyPool pool = new ApiKeyPool(properties, "unused", meterRegistry);
+        List<String> used = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 30; i++) {
+            pool.execute(key -> {
+                used.add(key);
+                return Mono.just(details(null));
+            }, MovieDetails::getError).block();
+        }
+
+        Map<String, Long> counts = used.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        assertEquals(20, counts.get("aaa"));
+        assertEquals(10, counts.get("bbb"));
+        assertEquals(20, meterRegistry.get("omdb.api.key.calls").tags("key", "primary", "outcome", "success")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should eject keys over quota and retry transparently with another key")
+    void shouldEjectKeysOverQuota() {
+
+        ApiKeyPool pool = new ApiKeyPool(properties, "unused", meterRegistry);
+        Function<String, Mono<MovieDetails>> call = key -> "aaa".equals(key)
+                ? Mono.just(details("Request limit reached!"))
+                : Mono.just(details(null));
+
+        StepVerifier.create(pool.execute(call, MovieDetails::getError))
+                .expectNextMatches(details -> details.getError() == null)
+                .verifyComplete();
+        StepVerifier.create(pool.execute(call, MovieDetails::getError))
+                .expectNextMatches(details -> details.getError() == null)
+                .verifyComplete();
+
+        assertEquals(0, meterRegistry.get("omdb.api.key.available").tag("key", "primary").gauge().value());
+        assertEquals(1, meterRegistry.get("omdb.api.key.calls").tags("key", "primary", "outcome", "quota")
+                .counter().count());
+        assertEquals(2, meterRegistry.get("omdb.api.key.calls").tags("key", "secondary", "outcome", "success")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should fail as unavailable once every key is rejected")
+    void shouldFailWhenEveryKeyIsRejected() {
+
+        ApiKeyPool pool = new ApiKeyPool(properties, "unused", meterRegistry);
+        byte[] body = "{\"Response\":\"False\",\"Error\":\"Invalid API key!\"}".getBytes(StandardCharsets.UTF_8);
+
+        StepVerifier.create(pool.execute(key -> Mono.<MovieDetails>error(WebClientResponseException.create(
+                        401, "Unauthorized", HttpHeaders.EMPTY, body, StandardCharsets.UTF_8)), MovieDetails::getError))
+                .verifyError(OmdbUnavailableException.class);
+        StepVerifier.create(pool.execute(key -> Mono.just(details(null)), MovieDetails::getError))
+                .verifyErrorMessage("All OMDB API keys are ejected");
+
+        assertEquals(1, meterRegistry.get("omdb.api.key.calls").tags("key", "secondary", "outcome", "auth")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not eject keys for ordinary upstream failures")
+    void shouldKeepKeysOnOrdinaryFailures() {
+
+        ApiKeyPool pool = new ApiKeyPool(properties, "unused", meterRegistry);
+
+        StepVerifier.create(pool.execute(key -> Mono.<MovieDetails>error(WebClientResponseException.create(
+                        500, "Server Error", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8)), MovieDetails::getError))
+                .verifyError(WebClientResponseException.class);
+        StepVerifier.create(pool.execute(key -> Mono.just(details("Movie not found!")), MovieDetails::getError))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(1, meterRegistry.get("omdb.api.key.available").tag("key", "primary").gauge().value());
+        assertEquals(1, meterRegistry.get("omdb.api.key.calls").tags("key", "primary", "outcome", "failed")
+                .counter().count());
+    }
+
+    private static ApiKeyPoolProperties.Key key(String name, String value, int weight) {
+        ApiKeyPoolProperties.Key key = new ApiKeyPoolProperties.Key();
+        key.setName(name);
+        key.setValue(value);
+        key.setWeight(weight);
+        return key;
+    }
+
+    private static MovieDetails details(String error) {
+        MovieDetails details = new MovieDetails();
+        details.setResponse(error == null ? "True" : "False");
+        details.setError(error);
+        return details;
+    }
+}
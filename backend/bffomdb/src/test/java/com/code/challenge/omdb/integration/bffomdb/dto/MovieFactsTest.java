@@ -0,0 +1,94 @@
+package com.code.challenge.omdb.integration.bffomdb.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("MovieFacts Tests")
+class MovieFactsTest {
+
+    @Test
+    @DisplayName("Should parse OMDB numeric strings into primitives")
+    void shouldParseOmdbNumbers() {
+
+        MovieDetails details = new MovieDetails();
+        details.setImdbRating("8.2");
+        details.setImdbVotes("1,523,417");
+        details.setMetascore("70");
+        details.setRuntime("140 min");
+        details.setYear("2005");
+        details.setBoxOffice("$206,863,479");
+
+        MovieFacts facts = details.getFacts();
+
+        assertEquals(8.2, facts.imdbRating(), 1e-9);
+        assertEquals(1_523_417L, facts.imdbVotes());
+        assertEquals(70, facts.metascore());
+        assertEquals(140, facts.runtimeMinutes());
+        assertEquals(2005, facts.startYear());
+        assertEquals(2005, facts.endYear());
+        assertEquals(206_863_479L, facts.boxOffice());
+    }
+
+    @Test
+    @DisplayName("Should mark missing and N/A values as absent")
+    void shouldMarkMissingValuesAbsent() {
+
+        MovieDetails details = new MovieDetails();
+        details.setImdbRating("N/A");
+        details.setMetascore("N/A");
+        details.setBoxOffice("N/A");
+
+        MovieFacts facts = details.getFacts();
+
+        assertFalse(facts.hasImdbRating());
+        assertFalse(facts.hasImdbVotes());
+        assertFalse(facts.hasMetascore());
+        assertFalse(facts.hasRuntime());
+        assertFalse(facts.hasBoxOffice());
+        assertEquals(MovieFacts.ABSENT, facts.startYear());
+        assertNull(details.getImdbRatingAsDouble());
+    }
+
+    @Test
+    @DisplayName("Should parse year ranges and ongoing series")
+    void shouldParseYearRanges() {
+
+        MovieDetails details = new MovieDetails();
+        details.setYear("2008–2013");
+        assertEquals(2008, details.getFacts().startYear());
+        assertEquals(2013, details.getFacts().endYear());
+        assertTrue(details.getFacts().releasedIn(2010));
+
+        details.setYear("2019–");
+        assertTrue(details.getFacts().isOngoing());
+        assertTrue(details.getFacts().releasedIn(2030));
+        assertFalse(details.getFacts().releasedIn(2018));
+    }
+
+    @Test
+    @DisplayName("Should keep the public JSON shape without the parsed model")
+    void shouldKeepPublicJsonShape() throws Exception {
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        MovieDetails details = new MovieDetails();
+        details.setResponse("True");
+
+        JsonNode detailsJson = objectMapper.valueToTree(details);
+        assertFalse(detailsJson.has("facts"));
+        assertTrue(detailsJson.get("imdbRatingAsDouble").isNull());
+
+        MovieSearchResponse response = objectMapper.readValue("{\"totalResults\":\"482\",\"Response\":\"True\"}",
+                MovieSearchResponse.class);
+        JsonNode responseJson = objectMapper.valueToTree(response);
+        assertEquals(482, response.getTotalResultsAsInt());
+        assertEquals(482, responseJson.get("totalResultsAsInt").asInt());
+        assertFalse(responseJson.has("totalResultsCount"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.code.challenge.omdb.integration.bffomdb.interceptor;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheMisses;
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitProperties;
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitingConfig;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.ClientIpResolver;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.LocalRateLimitStore;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.RateLimitPolicies;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("RateLimitingInterceptor Tests")
+class RateLimitingInterceptorTest {
+
+    private RateLimitingInterceptor interceptor;
+    private RateLimitPolicies policies;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Route suggest = new RateLimitProperties.Route();
+        suggest.setName("suggest");
+        suggest.setPattern("/api/v1/movies/suggest");
+        suggest.setRequestsPerMinute(3L);
+        suggest.setCost(0);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRequestsPerMinute(2);
+        properties.setMissCost(1);
+        properties.setApiKeys(Map.of("partner-key", 10L));
+        properties.setRoutes(List.of(suggest));
+        policies = new RateLimitPolicies(properties);
+
+        LocalRateLimitStore store = new LocalRateLimitStore(properties.getLocal(), new SimpleMeterRegistry());
+        interceptor = new RateLimitingInterceptor(new RateLimitingConfig(store, policies),
+                new ClientIpResolver(properties));
+    }
+
+    @Test
+    @DisplayName("Should report the configured limit and remaining tokens on allowed requests")
+    void shouldReportRemainingTokens() throws Exception {
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request(), first, null));
+        assertTrue(interceptor.preHandle(request(), second, null));
+
+        assertEquals("2", first.getHeader("X-RateLimit-Limit"));
+        assertEquals("1", first.getHeader("X-RateLimit-Remaining"));
+        assertEquals("0", second.getHeader("X-RateLimit-Remaining"));
+        assertTrue(Long.parseLong(second.getHeader("X-RateLimit-Reset")) > System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Should reject with a well-formed JSON body once the limit is exhausted")
+    void shouldRejectWithJsonBody() throws Exception {
+
+        interceptor.preHandle(request(), new MockHttpServletResponse(), null);
+        interceptor.preHandle(request(), new MockHttpServletResponse(), null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request(), response, null));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("0", response.getHeader("X-RateLimit-Remaining"));
+        assertTrue(Long.parseLong(response.getHeader("Retry-After")) > 0);
+
+        JsonNode body = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertEquals(429, body.get("status").asInt());
+        assertEquals("/api/v1/movies/search\"x", body.get("path").asText());
+        assertEquals(Long.parseLong(response.getHeader("Retry-After")), body.get("retryAfter").asLong());
+        assertNotNull(LocalDateTime.parse(body.get("timestamp").asText()));
+    }
+
+    @Test
+    @DisplayName("Should charge the miss cost for every cache miss the request caused")
+    void shouldChargeMissCost() throws Exception {
+
+        policies.update(RateLimitPolicies.DEFAULT_POLICY, 5L, null);
+
+        MockHttpServletRequest missed = request();
+        MockHttpServletResponse missResponse = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(missed, missResponse, null));
+        CacheMisses cacheMisses = (CacheMisses) missed.getAttribute(CacheMisses.ATTRIBUTE);
+        for (int i = 0; i < 3; i++) {
+            cacheMisses.record();
+        }
+        interceptor.afterCompletion(missed, missResponse, null, null);
+
+        MockHttpServletResponse last = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request(), last, null));
+        assertEquals("0", last.getHeader("X-RateLimit-Remaining"));
+        assertFalse(interceptor.preHandle(request(), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("Should apply route and API key policies")
+    void shouldApplyRouteAndApiKeyPolicies() throws Exception {
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            assertTrue(interceptor.preHandle(request("/api/v1/movies/suggest"), response, null));
+            assertEquals("3", response.getHeader("X-RateLimit-Limit"));
+        }
+        assertFalse(interceptor.preHandle(request("/api/v1/movies/suggest"), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(request(), new MockHttpServletResponse(), null));
+
+        MockHttpServletRequest partner = request();
+        partner.addHeader("X-API-Key", "partner-key");
+        MockHttpServletResponse partnerResponse = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(partner, partnerResponse, null));
+        assertEquals("10", partnerResponse.getHeader("X-RateLimit-Limit"));
+    }
+
+    @Test
+    @DisplayName("Should apply policy updates at runtime")
+    void shouldApplyPolicyUpdates() throws Exception {
+
+        policies.update(RateLimitPolicies.DEFAULT_POLICY, 5L, null);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request(), response, null));
+        assertEquals("5", response.getHeader("X-RateLimit-Limit"));
+        assertEquals("4", response.getHeader("X-RateLimit-Remaining"));
+        assertThrows(IllegalArgumentException.class, () -> policies.update("unknown", 1L, null));
+    }
+
+    private static MockHttpServletRequest request() {
+        return request("/api/v1/movies/search\"x");
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr("198.51.100.1");
+        return request;
+    }
+}
@@ -0,0 +1,55 @@
+package com.code.challenge.omdb.integration.bffomdb.ratelimit;
+
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("ClientIpResolver Tests")
+class ClientIpResolverTest {
+
+    private ClientIpResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxies(List.of("10.0.0.0/8", "::1/128", "not-a-range"));
+        resolver = new ClientIpResolver(properties);
+    }
+
+    @Test
+    @DisplayName("Should ignore forwarded headers from untrusted peers")
+    void shouldIgnoreForwardedHeadersFromUntrustedPeers() {
+
+        assertEquals("203.0.113.7", resolver.resolve("203.0.113.7", "198.51.100.1", "198.51.100.2"));
+    }
+
+    @Test
+    @DisplayName("Should take the first untrusted hop from the right of X-Forwarded-For")
+    void shouldTakeFirstUntrustedHopFromTheRight() {
+
+        assertEquals("198.51.100.1", resolver.resolve("10.0.0.5", "1.2.3.4, 198.51.100.1, 10.1.2.3", null));
+        assertEquals("198.51.100.1", resolver.resolve("::1", "198.51.100.1", null));
+    }
+
+    @Test
+    @DisplayName("Should stop at malformed X-Forwarded-For entries")
+    void shouldStopAtMalformedEntries() {
+
+        assertEquals("10.1.2.3", resolver.resolve("10.0.0.5", "198.51.100.1, evil.example.com, 10.1.2.3", null));
+        assertEquals("10.0.0.5", resolver.resolve("10.0.0.5", "garbage", null));
+    }
+
+    @Test
+    @DisplayName("Should fall back to X-Real-IP and then the peer address")
+    void shouldFallBackToRealIpAndPeer() {
+
+        assertEquals("198.51.100.9", resolver.resolve("10.0.0.5", null, "198.51.100.9"));
+        assertEquals("10.0.0.5", resolver.resolve("10.0.0.5", null, "localhost"));
+        assertEquals("unknown", resolver.resolve(null, "198.51.100.1", null));
+    }
+}
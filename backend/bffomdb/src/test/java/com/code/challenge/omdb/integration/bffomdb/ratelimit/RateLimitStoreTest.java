@@ -0,0 +1,138 @@
+package com.code.challenge.omdb.integration.bffomdb.ratelimit;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.RedisStandIn;
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("RateLimitStore Tests")
+class RateLimitStoreTest {
+
+    private static final RateLimitStore.Limit LIMIT = new RateLimitStore.Limit(3, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("Should bound local buckets and report remaining tokens")
+    void shouldBoundLocalBuckets() {
+
+        RateLimitProperties.Local local = new RateLimitProperties.Local();
+        local.setMaxClients(10);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalRateLimitStore store = new LocalRateLimitStore(local, meterRegistry);
+
+        assertEquals(2, store.tryConsume("client", LIMIT, 1).block().remaining());
+        store.tryConsume("client", LIMIT, 1).block();
+        store.tryConsume("client", LIMIT, 1).block();
+        RateLimitStore.Probe rejected = store.tryConsume("client", LIMIT, 1).block();
+        assertFalse(rejected.consumed());
+        assertTrue(rejected.nanosToWait() > 0);
+
+        store.penalize("penalized", LIMIT, 3);
+        assertFalse(store.tryConsume("penalized", LIMIT, 1).block().consumed());
+        RateLimitStore.Limit raised = new RateLimitStore.Limit(10, Duration.ofMinutes(1));
+        assertTrue(store.tryConsume("penalized", raised, 1).block().consumed());
+
+        for (int i = 0; i < 1_000; i++) {
+            store.tryConsume("spoofed-" + i, LIMIT, 1).block();
+        }
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertTrue(meterRegistry.get("ratelimit.local.buckets").gauge().value() <= 10));
+    }
+
+    @Test
+    @DisplayName("Should hand concurrent first callers the same bucket")
+    void shouldShareBucketAcrossConcurrentCallers() throws InterruptedException {
+
+        LocalRateLimitStore store = new LocalRateLimitStore(new RateLimitProperties.Local(), new SimpleMeterRegistry());
+        RateLimitStore.Limit limit = new RateLimitStore.Limit(100, Duration.ofMinutes(1));
+        AtomicInteger consumed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() -> {
+                if (store.consume("client", limit, 1).consumed()) {
+                    consumed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(100, consumed.get());
+    }
+
+    @Test
+    @DisplayName("Should share one limit across replicas through Redis")
+    void shouldShareLimitAcrossReplicas() throws IOException {
+
+        try (RedisStandIn redis = new RedisStandIn()) {
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.getRedis().setUri(redis.uri());
+            properties.getRedis().setTimeout(Duration.ofSeconds(2));
+            RedisRateLimitStore replicaA = redisStore(properties);
+            RedisRateLimitStore replicaB = redisStore(properties);
+            try {
+                await().atMost(Duration.ofSeconds(5)).until(() -> replicaA.isAvailable() && replicaB.isAvailable());
+
+                assertTrue(replicaA.tryConsume("client", LIMIT, 1).block().consumed());
+                assertTrue(replicaB.tryConsume("client", LIMIT, 1).block().consumed());
+                assertTrue(replicaA.tryConsume("client", LIMIT, 1).block().consumed());
+
+                RateLimitStore.Probe rejected = replicaB.tryConsume("client", LIMIT, 1).block();
+                assertFalse(rejected.consumed());
+                assertTrue(rejected.nanosToWait() > 0);
+                assertTrue(replicaA.tryConsume("other", LIMIT, 1).block().consumed());
+                replicaB.penalize("other", LIMIT, 2);
+                await().atMost(Duration.ofSeconds(5)).until(() ->
+                        !replicaA.tryConsume("other", LIMIT, 1).block().consumed());
+            } finally {
+                replicaA.destroy();
+                replicaB.destroy();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to local buckets when Redis is unreachable")
+    void shouldFallBackWhenRedisIsUnreachable() {
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRedis().setUri("redis://127.0.0.1:1");
+        RedisRateLimitStore store = redisStore(properties);
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(store.tryConsume("client", LIMIT, 1).block().consumed());
+            }
+            assertFalse(store.tryConsume("client", LIMIT, 1).block().consumed());
+            assertFalse(store.isAvailable());
+        } finally {
+            store.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should weight the previous window when evaluating the sliding counter")
+    void shouldWeightPreviousWindow() {
+
+        assertTrue(RedisRateLimitStore.evaluate(1, 1, 4, 0.5, LIMIT).consumed());
+        assertFalse(RedisRateLimitStore.evaluate(2, 1, 4, 0.5, LIMIT).consumed());
+        assertEquals(0, RedisRateLimitStore.evaluate(3, 1, 0, 0.1, LIMIT).remaining());
+        assertFalse(RedisRateLimitStore.evaluate(4, 1, 0, 0.1, LIMIT).consumed());
+    }
+
+    private static RedisRateLimitStore redisStore(RateLimitProperties properties) {
+        return new RedisRateLimitStore(properties.getRedis(),
+                new LocalRateLimitStore(properties.getLocal(), new SimpleMeterRegistry()), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,73 @@
+package com.code.challenge.omdb.integration.bffomdb.resilience;
+
+import com.code.challenge.omdb.integration.bffomdb.config.ResilienceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST_CALL = Duration.ofMillis(50).toNanos();
+    private static final long SLOW_CALL = Duration.ofSeconds(5).toNanos();
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.Concurrency properties = new ResilienceProperties.Concurrency();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(8);
+        properties.setBackoffRatio(0.5);
+        limiter = new AdaptiveConcurrencyLimiter(properties);
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the current limit")
+    void shouldRejectCallsBeyondLimit() {
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(FAST_CALL, AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively on dropped or slow calls")
+    void shouldBackOffOnDroppedOrSlowCalls() {
+
+        limiter.tryAcquire();
+        limiter.release(FAST_CALL, AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+        assertEquals(2, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.release(SLOW_CALL, AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should grow additively while saturated and successful")
+    void shouldGrowWhileSaturated() {
+
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < limiter.getLimit(); i++) {
+                limiter.tryAcquire();
+            }
+            while (limiter.getInFlight() > 0) {
+                limiter.release(FAST_CALL, AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+            }
+        }
+
+        assertEquals(8, limiter.getLimit());
+    }
+}
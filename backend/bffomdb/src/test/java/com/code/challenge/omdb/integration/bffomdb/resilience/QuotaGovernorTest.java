@@ -0,0 +1,189 @@
+package com.code.challenge.omdb.integration.bffomdb.resilience;
+
+import com.code.challenge.omdb.integration.bffomdb.client.ApiKeyPool;
+import com.code.challenge.omdb.integration.bffomdb.config.ApiKeyPoolProperties;
+import com.code.challenge.omdb.integration.bffomdb.config.QuotaProperties;
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitProperties;
+import com.code.challenge.omdb.integration.bffomdb.config.RateLimitStoreConfig;
+import com.code.challenge.omdb.integration.bffomdb.exception.OmdbUnavailableException;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.LocalRateLimitStore;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.RateLimitStore;
+import com.code.challenge.omdb.integration.bffomdb.ratelimit.RedisRateLimitStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("QuotaGovernor Tests")
+class QuotaGovernorTest {
+
+    private QuotaProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new QuotaProperties();
+        properties.setDailyBudget(10);
+        properties.setBurst(10);
+        properties.setCacheOnlyBelow(0.1);
+        properties.getPrefetch().setMaxWait(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should keep the remaining budget for interactive calls and then go cache-only")
+    void shouldReserveBudgetByPriority() {
+
+        QuotaGovernor governor = new QuotaGovernor(properties, keyPool(), LocalRateLimitStore.unbounded(), meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(acquire(governor, QuotaPriority.INTERACTIVE)).verifyComplete();
+        }
+        assertEquals(5, governor.getRemaining());
+        StepVerifier.create(acquire(governor, QuotaPriority.BACKGROUND))
+                .verifyError(OmdbUnavailableException.class);
+        StepVerifier.create(acquire(governor, QuotaPriority.PREFETCH)).verifyComplete();
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(acquire(governor, QuotaPriority.INTERACTIVE)).verifyComplete();
+        }
+        assertTrue(governor.isCacheOnly());
+        StepVerifier.create(acquire(governor, QuotaPriority.INTERACTIVE))
+                .verifyError(OmdbUnavailableException.class);
+
+        assertEquals(1, meterRegistry.get("omdb.quota.remaining").gauge().value());
+        assertEquals(1, meterRegistry.get("omdb.quota.cache.only").gauge().value());
+        assertEquals(1, meterRegistry.get("omdb.quota.shed").tag("priority", "background").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep the spent budget after idle client buckets expire")
+    void shouldKeepSpentBudgetPastIdleExpiry() throws InterruptedException {
+
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.getLocal().setIdleExpiry(Duration.ofMillis(50));
+        RateLimitStoreConfig config = new RateLimitStoreConfig();
+        LocalRateLimitStore clients = config.localRateLimitStore(rateLimitProperties, meterRegistry);
+        RateLimitStore quotaStore = config.quotaRateLimitStore(
+                new DefaultListableBeanFactory().getBeanProvider(RedisRateLimitStore.class));
+        QuotaGovernor governor = new QuotaGovernor(properties, keyPool(), quotaStore, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(acquire(governor, QuotaPriority.INTERACTIVE)).verifyComplete();
+        }
+        Thread.sleep(100);
+        clients.consume("198.51.100.1", new RateLimitStore.Limit(10, Duration.ofMinutes(1)), 1);
+        StepVerifier.create(acquire(governor, QuotaPriority.INTERACTIVE)).verifyComplete();
+
+        assertEquals(4, governor.getRemaining());
+    }
+
+    @Test
+    @DisplayName("Should queue calls while out of tokens and grant them by priority")
+    void shouldGrantQueuedCallsByPriority() {
+
+        TokenStore store = new TokenStore();
+        QuotaGovernor governor = new QuotaGovernor(properties, keyPool(), store, meterRegistry);
+        List<QuotaPriority> granted = new CopyOnWriteArrayList<>();
+
+        acquire(governor, QuotaPriority.BACKGROUND).doOnSuccess(done -> granted.add(QuotaPriority.BACKGROUND)).subscribe();
+        acquire(governor, QuotaPriority.INTERACTIVE).doOnSuccess(done -> granted.add(QuotaPriority.INTERACTIVE)).subscribe();
+        assertEquals(2, governor.getQueued());
+
+        store.tokens.set(2);
+        await().atMost(Duration.ofSeconds(5)).until(() -> granted.size() == 2);
+        assertEquals(List.of(QuotaPriority.INTERACTIVE, QuotaPriority.BACKGROUND), granted);
+        assertEquals(0, governor.getQueued());
+    }
+
+    @Test
+    @DisplayName("Should shed queued calls that cannot get a token before their deadline")
+    void shouldShedCallsPastTheirDeadline() {
+
+        TokenStore store = new TokenStore();
+        QuotaGovernor governor = new QuotaGovernor(properties, keyPool(), store, meterRegistry);
+
+        StepVerifier.create(acquire(governor, QuotaPriority.PREFETCH))
+                .expectErrorMatches(error -> error instanceof OmdbUnavailableException
+                        && error.getMessage().contains("deadline"))
+                .verify(Duration.ofSeconds(5));
+        assertEquals(0, governor.getQueued());
+
+        store.nanosToWait = Duration.ofMinutes(1).toNanos();
+        StepVerifier.create(acquire(governor, QuotaPriority.INTERACTIVE))
+                .verifyError(OmdbUnavailableException.class);
+        assertFalse(governor.isCacheOnly());
+    }
+
+    @Test
+    @DisplayName("Should admit calls without a token and count them when the quota store fails")
+    void shouldFailOpenWhenTheStoreFails() {
+
+        TokenStore store = new TokenStore();
+        QuotaGovernor governor = new QuotaGovernor(properties, keyPool(), store, meterRegistry);
+        AtomicBoolean released = new AtomicBoolean();
+
+        acquire(governor, QuotaPriority.INTERACTIVE).doOnSuccess(done -> released.set(true)).subscribe();
+        assertEquals(1, governor.getQueued());
+
+        store.failure = new IllegalStateException("store unavailable");
+        await().atMost(Duration.ofSeconds(5)).untilTrue(released);
+        StepVerifier.create(acquire(governor, QuotaPriority.INTERACTIVE)).verifyComplete();
+
+        assertEquals(0, governor.getQueued());
+        assertEquals(2, meterRegistry.get("omdb.quota.fail.open").counter().count());
+        assertEquals(0, meterRegistry.get("omdb.quota.granted").tag("priority", "interactive").counter().count());
+    }
+
+    private ApiKeyPool keyPool() {
+        return new ApiKeyPool(new ApiKeyPoolProperties(), "test-key", meterRegistry);
+    }
+
+    private static Mono<Void> acquire(QuotaGovernor governor, QuotaPriority priority) {
+        return governor.acquire(OmdbEndpoint.DETAILS).contextWrite(context -> QuotaPriority.into(context, priority));
+    }
+
+    private static final class TokenStore implements RateLimitStore {
+
+        private final AtomicLong tokens = new AtomicLong();
+        private volatile long nanosToWait = Duration.ofMillis(10).toNanos();
+        private volatile RuntimeException failure;
+
+        @Override
+        public Mono<Probe> tryConsume(String key, Limit limit, long requested) {
+            if (failure != null) {
+                return Mono.error(failure);
+            }
+            if (key.endsWith(":daily")) {
+                return Mono.just(new Probe(true, limit.capacity(), 0, Duration.ofDays(1).toNanos()));
+            }
+            boolean consumed = tokens.getAndUpdate(available -> available > 0 ? available - 1 : 0) > 0;
+            return Mono.just(new Probe(consumed, tokens.get(), consumed ? 0 : nanosToWait, nanosToWait));
+        }
+
+        @Override
+        public void penalize(String key, Limit limit, long tokens) {
+        }
+
+        @Override
+        public void refund(String key, Limit limit, long tokens) {
+            if (key.endsWith(":burst")) {
+                this.tokens.addAndGet(tokens);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.code.challenge.omdb.integration.bffomdb.resilience;
+
+import com.code.challenge.omdb.integration.bffomdb.config.ResilienceProperties;
+import com.code.challenge.omdb.integration.bffomdb.exception.OmdbUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("RequestHedger Tests")
+class RequestHedgerTest {
+
+    private ResilienceProperties.Hedging properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResilienceProperties.Hedging();
+        properties.setEnabled(true);
+        properties.setWindow(100);
+        properties.setMinSamples(10);
+        properties.setMinDelay(Duration.ofMillis(20));
+        properties.setBudget(0.25);
+        properties.setMaxBurst(1);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should track the configured latency percentile over a sliding window")
+    void shouldTrackLatencyPercentile() {
+
+        LatencyTracker tracker = new LatencyTracker(100, 0.95, 10);
+        for (int i = 1; i < 10; i++) {
+            tracker.record(i);
+        }
+        assertEquals(-1, tracker.getPercentileNanos());
+
+        for (int i = 10; i <= 100; i++) {
+            tracker.record(i);
+        }
+        assertEquals(95, tracker.getPercentileNanos());
+
+        for (int i = 0; i < 100; i++) {
+            tracker.record(1_000);
+        }
+        assertEquals(1_000, tracker.getPercentileNanos());
+    }
+
+    @Test
+    @DisplayName("Should hedge a slow call and take the faster answer")
+    void shouldHedgeSlowCalls() {
+
+        RequestHedger hedger = warmedUp();
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        Mono<String> slow = Mono.delay(Duration.ofSeconds(5)).thenReturn("primary")
+                .doOnCancel(() -> primaryCancelled.set(true));
+
+        StepVerifier.create(hedger.hedge(OmdbEndpoint.DETAILS, hedger.timed(OmdbEndpoint.DETAILS, slow),
+                        hedger.timed(OmdbEndpoint.DETAILS, Mono.just("hedge"))))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertTrue(primaryCancelled.get());
+        assertEquals(1, meterRegistry.get("omdb.hedge.sent").tag("endpoint", "details").counter().count());
+        assertEquals(1, meterRegistry.get("omdb.hedge.wins").tag("endpoint", "details").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should stop hedging once the budget is spent and keep the first error")
+    void shouldRespectHedgeBudget() {
+
+        RequestHedger hedger = warmedUp();
+        Mono<String> slow = hedger.timed(OmdbEndpoint.DETAILS, Mono.delay(Duration.ofMillis(200)).thenReturn("primary"));
+
+        StepVerifier.create(hedger.hedge(OmdbEndpoint.DETAILS, slow, Mono.error(new IllegalStateException("hedge"))))
+                .expectNext("primary")
+                .verifyComplete();
+        StepVerifier.create(hedger.hedge(OmdbEndpoint.DETAILS, slow, Mono.just("hedge")))
+                .expectNext("primary")
+                .verifyComplete();
+        StepVerifier.create(hedger.hedge(OmdbEndpoint.DETAILS, hedger.timed(OmdbEndpoint.DETAILS,
+                                Mono.delay(Duration.ofMillis(100)).then(Mono.error(new IllegalArgumentException("primary")))),
+                        Mono.just("hedge")))
+                .verifyError(IllegalArgumentException.class);
+
+        assertEquals(1, meterRegistry.get("omdb.hedge.sent").tag("endpoint", "details").counter().count());
+        assertEquals(2, meterRegistry.get("omdb.hedge.denied").tag("endpoint", "details").counter().count());
+        assertEquals(0, meterRegistry.get("omdb.hedge.wins").tag("endpoint", "details").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should count failed attempts towards the tracked latency")
+    void shouldTrackFailedAttempts() {
+
+        RequestHedger hedger = new RequestHedger(properties, meterRegistry);
+        Mono<String> failing = hedger.timed(OmdbEndpoint.DETAILS,
+                Mono.delay(Duration.ofMillis(30)).then(Mono.error(new IllegalStateException("primary"))));
+
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(hedger.hedge(OmdbEndpoint.DETAILS, failing, Mono.just("hedge")))
+                    .verifyError(IllegalStateException.class);
+        }
+
+        assertTrue(meterRegistry.get("omdb.hedge.delay").tag("endpoint", "details").gauge().value() >= 30);
+    }
+
+    @Test
+    @DisplayName("Should not time or hedge calls that have not been admitted")
+    void shouldOnlyTimeAdmittedCalls() {
+
+        properties.setMaxBurst(0);
+        RequestHedger hedger = warmedUp();
+        Mono<String> queued = Mono.delay(Duration.ofMillis(200))
+                .then(hedger.timed(OmdbEndpoint.DETAILS, Mono.just("primary")));
+        Mono<String> rejected = hedger.timed(OmdbEndpoint.DETAILS,
+                Mono.delay(Duration.ofMillis(200)).then(Mono.error(new OmdbUnavailableException("rejected"))));
+
+        StepVerifier.create(hedger.hedge(OmdbEndpoint.DETAILS, queued, Mono.just("hedge")))
+                .expectNext("primary")
+                .verifyComplete();
+        assertEquals(0, meterRegistry.get("omdb.hedge.denied").tag("endpoint", "details").counter().count());
+
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(hedger.hedge(OmdbEndpoint.DETAILS, rejected, Mono.just("hedge")))
+                    .verifyError(OmdbUnavailableException.class);
+        }
+        assertTrue(meterRegistry.get("omdb.hedge.delay").tag("endpoint", "details").gauge().value() < 200);
+    }
+
+    private RequestHedger warmedUp() {
+        RequestHedger hedger = new RequestHedger(properties, meterRegistry);
+        for (int i = 0; i < 10; i++) {
+            hedger.hedge(OmdbEndpoint.DETAILS, hedger.timed(OmdbEndpoint.DETAILS, Mono.just("warm-up")),
+                    Mono.just("warm-up")).block();
+        }
+        return hedger;
+    }
+}
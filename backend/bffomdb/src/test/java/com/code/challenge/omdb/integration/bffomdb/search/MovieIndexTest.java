@@ -0,0 +1,119 @@
+package com.code.challenge.omdb.integration.bffomdb.search;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.SearchKey;
+import com.code.challenge.omdb.integration.bffomdb.config.SearchIndexProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("MovieIndex Tests")
+class MovieIndexTest {
+
+    private SearchIndexProperties properties;
+    private MovieIndex movieIndex;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SearchIndexProperties();
+        movieIndex = new MovieIndex(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above plot matches")
+    void shouldRankTitleMatchesFirst() {
+
+        movieIndex.add(details("tt0088763", "Back to the Future", "1985", "Robert Zemeckis",
+                "A teenager is sent thirty years into the past in a time machine."));
+        movieIndex.add(details("tt0119654", "Men in Black", "1997", "Barry Sonnenfeld",
+                "A police officer joins a secret organization that polices alien life, and the future of Earth."));
+        movieIndex.add(details("tt0078748", "Alien", "1979", "Ridley Scott",
+                "The crew of a commercial spacecraft encounters a deadly lifeform."));
+
+        assertEquals(List.of("tt0088763", "tt0119654"), ids(movieIndex.search(SearchKey.of("future", 1, null, null))));
+    }
+
+    @Test
+    @DisplayName("Should match token prefixes and require every query term")
+    void shouldMatchPrefixesAcrossFields() {
+
+        movieIndex.add(details("tt0372784", "Batman Begins", "2005", "Christopher Nolan",
+                "After training with his mentor, Batman begins his fight to free Gotham City."));
+        movieIndex.add(details("tt0096895", "Batman", "1989", "Tim Burton",
+                "The Dark Knight of Gotham City begins his war on crime."));
+
+        assertEquals(List.of("tt0372784"), ids(movieIndex.search(SearchKey.of("bat nol", 1, null, null))));
+        assertEquals(2, movieIndex.search(SearchKey.of("Gotham", 1, null, null)).total());
+        assertTrue(movieIndex.search(SearchKey.of("batman superman", 1, null, null)).hits().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should apply type and year filters and paginate")
+    void shouldFilterAndPaginate() {
+
+        IntStream.rangeClosed(1, 12).forEach(i ->
+                movieIndex.addAll(List.of(summary("tt" + (1000 + i), "Star Trek " + i, String.valueOf(1978 + i), "movie"))));
+        movieIndex.addAll(List.of(summary("tt0060028", "Star Trek", "1966–1969", "series")));
+
+        MovieIndex.Page first = movieIndex.search(SearchKey.of("star trek", 1, null, null));
+        MovieIndex.Page second = movieIndex.search(SearchKey.of("star trek", 2, null, null));
+
+        assertTrue(first.isFull());
+        assertEquals(12, first.total());
+        assertEquals(2, second.hits().size());
+        assertEquals(List.of("tt0060028"), ids(movieIndex.search(SearchKey.of("star trek", 1, "series", 1966))));
+        assertFalse(movieIndex.search(SearchKey.of("star trek", 1, null, 1980)).toResponse().getSearch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should upgrade summaries to details and evict the oldest documents")
+    void shouldUpgradeAndEvict() {
+
+        properties.setMaxDocuments(2);
+        movieIndex.addAll(List.of(summary("tt0078748", "Alien", "1979", "movie")));
+        movieIndex.add(details("tt0078748", "Alien", "1979", "Ridley Scott", "A deadly lifeform."));
+        movieIndex.addAll(List.of(summary("tt0090605", "Aliens", "1986", "movie")));
+
+        assertEquals(List.of("tt0078748"), ids(movieIndex.search(SearchKey.of("ridley", 1, null, null))));
+
+        movieIndex.addAll(List.of(summary("tt0103644", "Alien 3", "1992", "movie")));
+
+        assertEquals(2, movieIndex.size());
+        assertTrue(movieIndex.search(SearchKey.of("ridley", 1, null, null)).hits().isEmpty());
+        assertEquals("False", movieIndex.search(SearchKey.of("ridley", 1, null, null)).toResponse().getResponse());
+    }
+
+    private static List<String> ids(MovieIndex.Page page) {
+        return page.hits().stream().map(MovieSummary::getImdbId).toList();
+    }
+
+    private static MovieDetails details(String imdbId, String title, String year, String director, String plot) {
+        MovieDetails details = new MovieDetails();
+        details.setImdbId(imdbId);
+        details.setTitle(title);
+        details.setYear(year);
+        details.setType("movie");
+        details.setDirector(director);
+        details.setPlot(plot);
+        details.setResponse("True");
+        return details;
+    }
+
+    private static MovieSummary summary(String imdbId, String title, String year, String type) {
+        MovieSummary summary = new MovieSummary();
+        summary.setImdbId(imdbId);
+        summary.setTitle(title);
+        summary.setYear(year);
+        summary.setType(type);
+        return summary;
+    }
+}
@@ -0,0 +1,111 @@
+package com.code.challenge.omdb.integration.bffomdb.search;
+
+import com.code.challenge.omdb.integration.bffomdb.config.SuggestProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSuggestion;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("TitleSuggester Tests")
+class TitleSuggesterTest {
+
+    private SuggestProperties properties;
+    private TitleSuggester titleSuggester;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SuggestProperties();
+        titleSuggester = new TitleSuggester(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should rank suggestions by popularity and match inner words")
+    void shouldRankByPopularity() {
+
+        titleSuggester.recordAll(List.of(summary("tt0372784", "Batman Begins"), summary("tt0096895", "Batman"),
+                summary("tt0468569", "The Dark Knight")));
+        titleSuggester.recordAll(List.of(summary("tt0096895", "Batman")));
+        titleSuggester.record(details("tt0096895", "Batman"));
+        titleSuggester.recordAll(List.of(summary("tt0372784", "Batman Begins")));
+        titleSuggester.rebuild();
+
+        assertEquals(List.of("tt0096895", "tt0372784"), ids(titleSuggester.suggest("BAT", 10)));
+        assertEquals(List.of("tt0468569"), ids(titleSuggester.suggest("dark kn", 10)));
+        assertEquals(List.of("tt0372784"), ids(titleSuggester.suggest("batman b", 10)));
+        assertTrue(titleSuggester.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should serve the previous snapshot until the next rebuild")
+    void shouldServePreviousSnapshotUntilRebuild() {
+
+        titleSuggester.recordAll(List.of(summary("tt0078748", "Alien")));
+
+        assertTrue(titleSuggester.suggest("ali", 10).isEmpty());
+
+        titleSuggester.rebuild();
+
+        assertEquals(List.of("tt0078748"), ids(titleSuggester.suggest("ali", 10)));
+    }
+
+    @Test
+    @DisplayName("Should cap results and keep memory bounded")
+    void shouldCapResultsAndTitles() {
+
+        properties.setMaxTitles(20);
+        IntStream.range(0, 30).forEach(i ->
+                titleSuggester.recordAll(List.of(summary("tt" + (1000 + i), "Star Trek " + i))));
+        titleSuggester.rebuild();
+
+        List<MovieSuggestion> suggestions = titleSuggester.suggest("star", 50);
+
+        assertEquals(18, suggestions.size());
+        assertEquals(3, titleSuggester.suggest("star", 3).size());
+    }
+
+    @Test
+    @DisplayName("Should find the most popular match even when it sorts past the scan limit")
+    void shouldRankPastScanLimit() {
+
+        properties.setMaxScan(5);
+        IntStream.range(0, 10).forEach(i ->
+                titleSuggester.recordAll(List.of(summary("tt" + (2000 + i), "Tango " + i))));
+        IntStream.range(0, 3).forEach(i ->
+                titleSuggester.recordAll(List.of(summary("tt0120338", "Titanic"))));
+        titleSuggester.rebuild();
+
+        assertEquals(List.of("tt0120338"), ids(titleSuggester.suggest("t", 1)));
+        assertEquals(List.of("tt0120338"), ids(titleSuggester.suggest("ti", 1)));
+        assertEquals(6, titleSuggester.suggest("t", 6).size());
+    }
+
+    private static List<String> ids(List<MovieSuggestion> suggestions) {
+        return suggestions.stream().map(MovieSuggestion::getImdbId).toList();
+    }
+
+    private static MovieSummary summary(String imdbId, String title) {
+        MovieSummary summary = new MovieSummary();
+        summary.setImdbId(imdbId);
+        summary.setTitle(title);
+        summary.setYear("2000");
+        return summary;
+    }
+
+    private static MovieDetails details(String imdbId, String title) {
+        MovieDetails details = new MovieDetails();
+        details.setImdbId(imdbId);
+        details.setTitle(title);
+        details.setYear("1989");
+        details.setResponse("True");
+        return details;
+    }
+}
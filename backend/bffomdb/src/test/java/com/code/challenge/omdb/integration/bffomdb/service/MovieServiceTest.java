@@ -1,25 +1,47 @@
 package com.code.challenge.omdb.integration.bffomdb.service;
 
+import com.code.challenge.omdb.integration.bffomdb.cache.CacheStatus;
+import com.code.challenge.omdb.integration.bffomdb.cache.RequestCoalescer;
+import com.code.challenge.omdb.integration.bffomdb.cache.ResponseCache;
+import com.code.challenge.omdb.integration.bffomdb.cache.SecondLevelCache;
 import com.code.challenge.omdb.integration.bffomdb.client.OmdbApiClient;
+import com.code.challenge.omdb.integration.bffomdb.config.CacheProperties;
+import com.code.challenge.omdb.integration.bffomdb.config.FanOutProperties;
+import com.code.challenge.omdb.integration.bffomdb.config.SearchIndexProperties;
+import com.code.challenge.omdb.integration.bffomdb.config.SuggestProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieAggregateSearchRequest;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieAggregateSearchResponse;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieBatchItem;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchEvent;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchRequest;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchResponse;
 import com.code.challenge.omdb.integration.bffomdb.dto.MovieSummary;
 import com.code.challenge.omdb.integration.bffomdb.exception.OmdbApiException;
+import com.code.challenge.omdb.integration.bffomdb.search.MovieIndex;
+import com.code.challenge.omdb.integration.bffomdb.search.TitleSuggester;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +51,6 @@ class MovieServiceTest {
     @Mock
     private OmdbApiClient omdbApiClient;
     
-    @InjectMocks
     private MovieService movieService;
     
     private MovieSearchRequest searchRequest;
@@ -38,6 +59,8 @@ class MovieServiceTest {
     
     @BeforeEach
     void setUp() {
+        movieService = newMovieService(new FanOutProperties());
+
         searchRequest = new MovieSearchRequest();
         searchRequest.setQuery("Batman");
         searchRequest.setPage(1);
@@ -79,6 +102,24 @@ class MovieServiceTest {
                 .verifyComplete();
     }
     
+    @Test
+    @DisplayName("Should serve repeated movie details lookups from cache")
+    void shouldServeRepeatedMovieDetailsFromCache() {
+
+        String imdbId = "tt0372784";
+        when(omdbApiClient.getMovieDetails(imdbId))
+                .thenReturn(Mono.just(movieDetails));
+
+        StepVerifier.create(movieService.getMovieDetails(imdbId))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(movieService.getMovieDetails(imdbId))
+                .expectNextMatches(details -> "Batman Begins".equals(details.getTitle()))
+                .verifyComplete();
+
+        verify(omdbApiClient, times(1)).getMovieDetails(imdbId);
+    }
+    
     @Test
     @DisplayName("Should handle search with no results")
     void shouldHandleSearchWithNoResults() {
@@ -134,6 +175,45 @@ class MovieServiceTest {
                 .verifyComplete();
     }
     
+    @Test
+    @DisplayName("Should serve repeated not found lookups from the negative cache")
+    void shouldServeRepeatedNotFoundFromNegativeCache() {
+
+        String imdbId = "tt0000000";
+        MovieDetails notFoundDetails = new MovieDetails();
+        notFoundDetails.setResponse("False");
+        notFoundDetails.setError("Incorrect IMDb ID.");
+
+        when(omdbApiClient.getMovieDetails(imdbId))
+                .thenReturn(Mono.just(notFoundDetails));
+
+        StepVerifier.create(movieService.getMovieDetails(imdbId))
+                .expectNextMatches(details -> !details.isSuccess())
+                .verifyComplete();
+        StepVerifier.create(movieService.getMovieDetails(imdbId))
+                .expectNextMatches(details -> "Incorrect IMDb ID.".equals(details.getError()))
+                .verifyComplete();
+
+        verify(omdbApiClient, times(1)).getMovieDetails(imdbId);
+    }
+
+    @Test
+    @DisplayName("Should not cache upstream transport errors")
+    void shouldNotCacheUpstreamTransportErrors() {
+
+        String imdbId = "tt0372784";
+        when(omdbApiClient.getMovieDetails(imdbId))
+                .thenReturn(Mono.error(new OmdbApiException("Connection refused")))
+                .thenReturn(Mono.just(movieDetails));
+
+        StepVerifier.create(movieService.getMovieDetails(imdbId))
+                .expectError(OmdbApiException.class)
+                .verify();
+        StepVerifier.create(movieService.getMovieDetails(imdbId))
+                .expectNextMatches(MovieDetails::isSuccess)
+                .verifyComplete();
+    }
+    
     @Test
     @DisplayName("Should get movie by title successfully")
     void shouldGetMovieByTitleSuccessfully() {
@@ -235,4 +315,265 @@ class MovieServiceTest {
                 .expectError(OmdbApiException.class)
                 .verify();
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return partial results for a batch of IMDB IDs")
+    void shouldReturnPartialResultsForBatch() {
+
+        MovieDetails notFound = new MovieDetails();
+        notFound.setResponse("False");
+        notFound.setError("Incorrect IMDb ID.");
+
+        when(omdbApiClient.getMovieDetails("tt0372784")).thenReturn(Mono.just(movieDetails));
+        when(omdbApiClient.getMovieDetails("tt0000000")).thenReturn(Mono.just(notFound));
+        when(omdbApiClient.getMovieDetails("tt9999999")).thenReturn(Mono.error(new OmdbApiException("API Error")));
+
+        StepVerifier.create(movieService.getMovieDetails("tt0372784")).expectNextCount(1).verifyComplete();
+
+        StepVerifier.create(movieService.getMovieDetailsBatch(List.of("tt0372784", "tt0000000", "tt9999999", "tt0372784"))
+                        .collectMap(MovieBatchItem::getImdbId, Function.identity()))
+                .assertNext(items -> {
+                    assertEquals(3, items.size());
+                    assertEquals(MovieBatchItem.Status.FOUND, items.get("tt0372784").getStatus());
+                    assertEquals(CacheStatus.Result.HIT, items.get("tt0372784").getCache());
+                    assertEquals(MovieBatchItem.Status.NOT_FOUND, items.get("tt0000000").getStatus());
+                    assertEquals(CacheStatus.Result.MISS, items.get("tt0000000").getCache());
+                    assertEquals(MovieBatchItem.Status.ERROR, items.get("tt9999999").getStatus());
+                })
+                .verifyComplete();
+
+        verify(omdbApiClient, times(1)).getMovieDetails("tt0372784");
+    }
+
+    @Test
+    @DisplayName("Should expand search results with details and leave late items unenriched")
+    void shouldExpandSearchResultsWithDetails() {
+
+        FanOutProperties fanOutProperties = new FanOutProperties();
+        fanOutProperties.getExpand().setDeadline(Duration.ofMillis(200));
+        movieService = newMovieService(fanOutProperties);
+
+        MovieSummary slowSummary = new MovieSummary();
+        slowSummary.setTitle("The Dark Knight");
+        slowSummary.setImdbId("tt0468569");
+        searchResponse.setSearch(List.of(searchResponse.getSearch().get(0), slowSummary));
+        searchRequest.setExpand("details");
+
+        when(omdbApiClient.searchMovies("batman", 1, "movie", null)).thenReturn(Mono.just(searchResponse));
+        when(omdbApiClient.getMovieDetails("tt0372784")).thenReturn(Mono.just(movieDetails));
+        when(omdbApiClient.getMovieDetails("tt0468569")).thenReturn(Mono.never());
+
+        StepVerifier.create(movieService.searchMoviesWithFallback(searchRequest))
+                .assertNext(response -> {
+                    assertEquals(2, response.getSearch().size());
+                    assertEquals(movieDetails.getPlot(), response.getSearch().get(0).getPlot());
+                    assertEquals("tt0468569", response.getSearch().get(1).getImdbId());
+                    assertNull(response.getSearch().get(1).getPlot());
+                })
+                .verifyComplete();
+
+        assertNull(searchResponse.getSearch().get(0).getPlot());
+    }
+
+    @Test
+    @DisplayName("Should serve equivalent search queries from a single cache entry")
+    void shouldServeEquivalentSearchQueriesFromOneEntry() {
+
+        when(omdbApiClient.searchMovies("batman", 1, "movie", null)).thenReturn(Mono.just(searchResponse));
+
+        for (String query : List.of("Batman", " batman ", "BATMAN")) {
+            MovieSearchRequest request = new MovieSearchRequest();
+            request.setQuery(query);
+            request.setType(query.equals("BATMAN") ? "movie" : null);
+
+            StepVerifier.create(movieService.searchMovies(request))
+                    .expectNextMatches(MovieSearchResponse::isSuccess)
+                    .verifyComplete();
+        }
+
+        verify(omdbApiClient, times(1)).searchMovies("batman", 1, "movie", null);
+    }
+
+    @Test
+    @DisplayName("Should answer local searches from previously fetched movie details")
+    void shouldAnswerLocalSearchFromIndexedDetails() {
+
+        movieDetails.setType("movie");
+        movieDetails.setDirector("Christopher Nolan");
+        movieDetails.setActors("Christian Bale, Michael Caine");
+        when(omdbApiClient.getMovieDetails("tt0372784")).thenReturn(Mono.just(movieDetails));
+
+        StepVerifier.create(movieService.getMovieDetails("tt0372784"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        MovieSearchRequest request = new MovieSearchRequest();
+        request.setQuery("nolan bat");
+        request.setSource("local");
+
+        StepVerifier.create(movieService.searchMoviesWithFallback(request))
+                .expectNextMatches(response -> response.isSuccess()
+                        && response.getSearch().size() == 1
+                        && "tt0372784".equals(response.getSearch().get(0).getImdbId()))
+                .verifyComplete();
+        verify(omdbApiClient, never()).searchMovies(anyString(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should fill hybrid search gaps from OMDB after local hits")
+    void shouldFillHybridSearchGapsFromOmdb() {
+
+        movieDetails.setType("movie");
+        when(omdbApiClient.getMovieDetails("tt0372784")).thenReturn(Mono.just(movieDetails));
+        StepVerifier.create(movieService.getMovieDetails("tt0372784"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        MovieSummary remoteOnly = new MovieSummary();
+        remoteOnly.setTitle("Batman Returns");
+        remoteOnly.setYear("1992");
+        remoteOnly.setImdbId("tt0103776");
+        remoteOnly.setType("movie");
+        MovieSearchResponse remote = searchResponse.withSearch(List.of(remoteOnly, searchResponse.getSearch().get(0)));
+        when(omdbApiClient.searchMovies("batman", 1, "movie", null)).thenReturn(Mono.just(remote));
+
+        MovieSearchRequest request = new MovieSearchRequest();
+        request.setQuery("Batman");
+        request.setSource("hybrid");
+
+        StepVerifier.create(movieService.searchMoviesWithFallback(request))
+                .expectNextMatches(response -> response.getSearch().stream().map(MovieSummary::getImdbId).toList()
+                        .equals(List.of("tt0372784", "tt0103776")))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should aggregate, dedupe, filter and sort several OMDB pages")
+    void shouldAggregateSearchPages() {
+
+        when(omdbApiClient.searchMovies("star trek", 1, "movie", null)).thenReturn(Mono.just(
+                searchPage(summary("tt0079945", "Star Trek: The Motion Picture", "1979"),
+                        summary("tt0084726", "Star Trek II: The Wrath of Khan", "1982"))));
+        when(omdbApiClient.searchMovies("star trek", 2, "movie", null)).thenReturn(Mono.just(
+                searchPage(summary("tt0084726", "Star Trek II: The Wrath of Khan", "1982"),
+                        summary("tt0088170", "Star Trek III: The Search for Spock", "1984"),
+                        summary("tt0092007", "Star Trek IV: The Voyage Home", "1986"))));
+        when(omdbApiClient.searchMovies("star trek", 3, "movie", null))
+                .thenReturn(Mono.error(new OmdbApiException("OMDB unavailable")));
+
+        MovieAggregateSearchRequest request = new MovieAggregateSearchRequest();
+        request.setQuery("Star Trek");
+        request.setPages(3);
+        request.setDecade(1980);
+        request.setSort("-year");
+        request.setLimit(2);
+
+        MovieAggregateSearchResponse first = movieService.searchAggregated(request).block();
+
+        assertEquals(3, first.getTotal());
+        assertEquals(2, first.getPagesFetched());
+        assertEquals(1, first.getPagesFailed());
+        assertEquals(List.of("tt0092007", "tt0088170"), first.getResults().stream().map(MovieSummary::getImdbId).toList());
+
+        request.setCursor(first.getNextCursor());
+        MovieAggregateSearchResponse second = movieService.searchAggregated(request).block();
+
+        assertEquals(List.of("tt0084726"), second.getResults().stream().map(MovieSummary::getImdbId).toList());
+        assertNull(second.getNextCursor());
+        verify(omdbApiClient, times(1)).searchMovies("star trek", 1, "movie", null);
+    }
+
+    @Test
+    @DisplayName("Should fall back to default pages, sort and limit when they are sent as null")
+    void shouldAggregateWithNullOptions() {
+
+        when(omdbApiClient.searchMovies(eq("alien"), anyInt(), eq("movie"), isNull())).thenReturn(Mono.just(
+                searchPage(summary("tt0078748", "Alien", "1979"), summary("tt0090605", "Aliens", "1986"))));
+
+        MovieAggregateSearchRequest request = new MovieAggregateSearchRequest();
+        request.setQuery("Alien");
+        request.setPages(null);
+        request.setSort(null);
+        request.setLimit(null);
+
+        MovieAggregateSearchResponse response = movieService.searchAggregated(request).block();
+
+        assertEquals(5, response.getPagesFetched());
+        assertEquals(List.of("tt0078748", "tt0090605"), response.getResults().stream().map(MovieSummary::getImdbId).toList());
+    }
+
+    @Test
+    @DisplayName("Should stream deduped aggregate results as pages arrive and finish with a summary")
+    void shouldStreamAggregatedPages() {
+
+        when(omdbApiClient.searchMovies("star trek", 1, "movie", null)).thenReturn(Mono.just(
+                searchPage(summary("tt0084726", "Star Trek II: The Wrath of Khan", "1982")))
+                .delayElement(Duration.ofMillis(200)));
+        when(omdbApiClient.searchMovies("star trek", 2, "movie", null)).thenReturn(Mono.just(
+                searchPage(summary("tt0084726", "Star Trek II: The Wrath of Khan", "1982"),
+                        summary("tt0088170", "Star Trek III: The Search for Spock", "1984"))));
+        when(omdbApiClient.searchMovies("star trek", 3, "movie", null))
+                .thenReturn(Mono.error(new OmdbApiException("OMDB unavailable")));
+
+        MovieAggregateSearchRequest request = new MovieAggregateSearchRequest();
+        request.setQuery("Star Trek");
+        request.setPages(3);
+
+        StepVerifier.create(movieService.streamAggregated(request))
+                .expectNextMatches(event -> event.getIndex() == 0 && event.getMovie().getImdbId().equals("tt0084726"))
+                .expectNextMatches(event -> event.getIndex() == 1 && event.getMovie().getImdbId().equals("tt0088170"))
+                .expectNextMatches(event -> event.getType() == MovieSearchEvent.Type.SUMMARY && event.getCount() == 2
+                        && event.getPagesFetched() == 2 && event.getPagesFailed() == 1)
+                .verifyComplete();
+
+        request.setSort("-year");
+        StepVerifier.create(movieService.streamAggregated(request))
+                .expectNextMatches(event -> !event.getSuccess() && event.getError().contains("sort and cursor"))
+                .verifyComplete();
+    }
+
+    private static MovieSearchResponse searchPage(MovieSummary... summaries) {
+        MovieSearchResponse response = new MovieSearchResponse();
+        response.setResponse("True");
+        response.setTotalResults("30");
+        response.setSearch(List.of(summaries));
+        return response;
+    }
+
+    private static MovieSummary summary(String imdbId, String title, String year) {
+        MovieSummary summary = new MovieSummary();
+        summary.setImdbId(imdbId);
+        summary.setTitle(title);
+        summary.setYear(year);
+        summary.setType("movie");
+        return summary;
+    }
+
+    @Test
+    @DisplayName("Should stream search results followed by a summary event")
+    void shouldStreamSearchResultsThenSummary() {
+
+        when(omdbApiClient.searchMovies("batman", 1, "movie", null)).thenReturn(Mono.just(searchResponse));
+        when(omdbApiClient.getMovieDetails("tt0372784")).thenReturn(Mono.just(movieDetails));
+        searchRequest.setExpand("details");
+
+        StepVerifier.create(movieService.streamSearch(searchRequest))
+                .expectNextMatches(event -> event.getType() == MovieSearchEvent.Type.MOVIE
+                        && event.getIndex() == 0
+                        && movieDetails.getPlot().equals(event.getMovie().getPlot()))
+                .expectNextMatches(event -> event.getType() == MovieSearchEvent.Type.SUMMARY
+                        && event.getSuccess()
+                        && event.getCount() == 1
+                        && event.getTotalResults() == 10
+                        && event.getCache() == CacheStatus.Result.MISS)
+                .verifyComplete();
+    }
+
+    private MovieService newMovieService(FanOutProperties fanOutProperties) {
+        ResponseCache responseCache = new ResponseCache(new ConcurrentMapCacheManager(), new CacheProperties(),
+                new RequestCoalescer(new SimpleMeterRegistry()), SecondLevelCache.NONE, new SimpleMeterRegistry());
+        return new MovieService(omdbApiClient, responseCache, fanOutProperties,
+                new MovieIndex(new SearchIndexProperties(), new SimpleMeterRegistry()),
+                new TitleSuggester(new SuggestProperties(), new SimpleMeterRegistry()), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,112 @@
+package com.code.challenge.omdb.integration.bffomdb.warmup;
+
+import com.code.challenge.omdb.integration.bffomdb.cache.SearchKey;
+import com.code.challenge.omdb.integration.bffomdb.config.WarmupProperties;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieDetails;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchRequest;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSearchResponse;
+import com.code.challenge.omdb.integration.bffomdb.dto.MovieSummary;
+import com.code.challenge.omdb.integration.bffomdb.service.MovieService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheWarmer Tests")
+class CacheWarmerTest {
+
+    @Mock
+    private MovieService movieService;
+
+    private WarmupProperties warmupProperties;
+    private HotKeyTracker hotKeyTracker;
+    private CacheWarmer cacheWarmer;
+    private CacheWarmupHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        warmupProperties = new WarmupProperties();
+        warmupProperties.setRatePerSecond(1000);
+        warmupProperties.setSearches(List.of("Batman"));
+        warmupProperties.setMovies(List.of("tt0372784"));
+        hotKeyTracker = new HotKeyTracker(warmupProperties);
+        cacheWarmer = new CacheWarmer(movieService, hotKeyTracker, warmupProperties, new SimpleMeterRegistry());
+        healthIndicator = new CacheWarmupHealthIndicator(cacheWarmer, warmupProperties);
+    }
+
+    @Test
+    @DisplayName("Should stay out of service until warm-up reaches the success-ratio target")
+    void shouldReportReadinessOnceTargetIsReached() {
+
+        MovieDetails notFound = new MovieDetails();
+        notFound.setResponse("False");
+        when(movieService.getPopularMovies()).thenReturn(Mono.just(List.of(new MovieSummary())));
+        when(movieService.searchMovies(any(SearchKey.class))).thenReturn(Mono.error(new RuntimeException("OMDB down")));
+        when(movieService.getMovieDetails("tt0372784")).thenReturn(Mono.just(notFound));
+
+        StepVerifier.create(cacheWarmer.warmUp(false))
+                .assertNext(result -> assertEquals(1, result.warmed()))
+                .verifyComplete();
+        assertFalse(cacheWarmer.isWarm());
+        assertEquals(Status.OUT_OF_SERVICE, healthIndicator.health().getStatus());
+
+        MovieSearchResponse found = new MovieSearchResponse();
+        found.setResponse("True");
+        MovieDetails details = new MovieDetails();
+        details.setResponse("True");
+        when(movieService.searchMovies(any(SearchKey.class))).thenReturn(Mono.just(found));
+        when(movieService.getMovieDetails("tt0372784")).thenReturn(Mono.just(details));
+
+        StepVerifier.create(cacheWarmer.warmUp(false))
+                .assertNext(result -> assertEquals(1.0, result.successRatio()))
+                .verifyComplete();
+        assertTrue(cacheWarmer.isWarm());
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should replay the hottest recorded keys on scheduled runs")
+    void shouldReplayHotKeys() {
+
+        warmupProperties.setPopular(false);
+        warmupProperties.setSearches(List.of());
+        warmupProperties.setMovies(List.of());
+        warmupProperties.setTopN(1);
+
+        MovieSearchRequest hot = new MovieSearchRequest();
+        hot.setQuery("Alien");
+        MovieSearchRequest cold = new MovieSearchRequest();
+        cold.setQuery("Zardoz");
+        hotKeyTracker.recordSearch(SearchKey.of(hot));
+        hotKeyTracker.recordSearch(SearchKey.of(hot));
+        hotKeyTracker.recordSearch(SearchKey.of(cold));
+
+        MovieSearchResponse found = new MovieSearchResponse();
+        found.setResponse("True");
+        when(movieService.searchMovies(argThat((SearchKey key) -> "alien".equals(key.query())))).thenReturn(Mono.just(found));
+
+        StepVerifier.create(cacheWarmer.warmUp(true))
+                .assertNext(result -> assertEquals(1, result.keys()))
+                .verifyComplete();
+        verify(movieService, never()).searchMovies(argThat((SearchKey key) -> "zardoz".equals(key.query())));
+        assertEquals(List.of(SearchKey.of("Alien", 1, null, null)), hotKeyTracker.topSearches(5));
+    }
+}
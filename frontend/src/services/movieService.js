@@ -44,6 +44,43 @@ export const movieService = {
     }
   },
 
+  /**
+   * Busca agregada em várias páginas, com ordenação e filtros no servidor
+   * @param {Object} searchParams - Parâmetros de busca
+   * @param {string} searchParams.query - Termo de busca
+   * @param {number} [searchParams.pages=5] - Quantidade de páginas do OMDB
+   * @param {string} [searchParams.sort] - relevance, year, rating ou title (prefixo '-' para decrescente)
+   * @param {number} [searchParams.decade] - Década (ex.: 1990)
+   * @param {number} [searchParams.minRating] - Nota mínima no IMDB
+   * @param {string} [searchParams.cursor] - Cursor da próxima página de resultados
+   * @returns {Promise} Promise com resultado agregado
+   */
+  async searchAggregated(searchParams) {
+    try {
+      const response = await api.post('/movies/search/aggregate', searchParams);
+      return response.data;
+    } catch (error) {
+      throw new Error(
+        (error.response && error.response.data && error.response.data.message) || 'Erro ao buscar filmes'
+      );
+    }
+  },
+
+  /**
+   * Sugestões de títulos para autocompletar
+   * @param {string} prefix - Início do título digitado
+   * @param {number} [limit=10] - Quantidade máxima de sugestões
+   * @returns {Promise} Promise com lista de sugestões
+   */
+  async suggestTitles(prefix, limit = 10) {
+    try {
+      const response = await api.get('/movies/suggest', { params: { prefix, limit } });
+      return response.data;
+    } catch (error) {
+      return [];
+    }
+  },
+
   /**
    * Busca detalhes de um filme por IMDB ID
    * @param {string} imdbId - ID do filme no IMDB